@@ -1,6 +1,8 @@
 package com.example.tdg.service.generator;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,6 +18,14 @@ public abstract class AbstractDataGenerator implements DataGenerator {
         this.type = type;
     }
     
+    @Override
+    public String generate(Map<String, Object> constraints) {
+        return generate(constraints, GenerationContext.unseeded());
+    }
+    
+    @Override
+    public abstract String generate(Map<String, Object> constraints, GenerationContext context);
+    
     @Override
     public String getType() {
         return type;
@@ -35,6 +45,41 @@ public abstract class AbstractDataGenerator implements DataGenerator {
         return Optional.empty();
     }
     
+    /**
+     * Helper for {@link #getDependencies}: collect the column names set in the given constraints.
+     * 
+     * @param constraints The constraints map
+     * @param keys Constraints that name another column
+     * @return The referenced column names
+     */
+    protected List<String> columnReferences(Map<String, Object> constraints, String... keys) {
+        List<String> names = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            Object name = constraints.get(key);
+            if (name != null && !name.toString().isEmpty()) {
+                names.add(name.toString());
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Get the index of the column named by a constraint, as resolved by the plan compiler.
+     * 
+     * @param constraints The constraints map
+     * @param key Constraint that names another column
+     * @return The column index, or -1 if the constraint is not set or the constraints are not compiled
+     */
+    protected int columnIndex(Map<String, Object> constraints, String key) {
+        Object name = constraints.get(key);
+        Object indexes = constraints.get(COLUMN_INDEXES);
+        if (name == null || !(indexes instanceof Map)) {
+            return -1;
+        }
+        Object index = ((Map<?, ?>) indexes).get(name.toString());
+        return index instanceof Integer ? (Integer) index : -1;
+    }
+    
     /**
      * Helper method to get a constraint value with type casting.
      * 
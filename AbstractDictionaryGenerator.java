@@ -0,0 +1,142 @@
+package com.example.tdg.service.generator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Base class for generators of categorical values drawn from a fixed list
+ * (cities, states, street names, mail domains).
+ * The list is loaded once when the bean is created and sampled by index, so
+ * each value costs one or two random draws and an array read. Subclasses
+ * provide the dictionary and, if a value is more than the sampled entry,
+ * override {@link #render}.
+ * <p>
+ * By default values follow the dictionary's own weights; a {@link Distribution}
+ * configured on the column replaces them, with dictionary order as the domain.
+ */
+public abstract class AbstractDictionaryGenerator extends AbstractDataGenerator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDictionaryGenerator.class);
+    
+    // Constraint key under which prepareConstraints stores the column's sampler
+    private static final String SAMPLER_KEY = "dictionary.sampler";
+    
+    private ValueDictionary dictionary;
+    
+    protected AbstractDictionaryGenerator(String type) {
+        super(type);
+    }
+    
+    /**
+     * Load the dictionary once.
+     */
+    @PostConstruct
+    public void init() {
+        dictionary = loadDictionary();
+        logger.info("Loaded {} {} values for '{}'", dictionary.size(),
+                dictionary.isWeighted() ? "weighted" : "uniform", getType());
+    }
+    
+    /**
+     * Build the dictionary of this generator. Called once at startup.
+     * 
+     * @return The dictionary
+     */
+    protected abstract ValueDictionary loadDictionary();
+    
+    protected ValueDictionary getDictionary() {
+        return dictionary;
+    }
+    
+    /**
+     * Turn a sampled dictionary entry into a value. The default returns the entry.
+     * 
+     * @param constraints The column constraints
+     * @param index Index of the sampled entry in {@link #getDictionary()}
+     * @param random The random stream, for values composed of further random parts
+     * @return The generated value
+     */
+    protected String render(Map<String, Object> constraints, int index, SplittableRandom random) {
+        return dictionary.get(index);
+    }
+    
+    /**
+     * Variant of {@link #render(Map, int, SplittableRandom)} for values that
+     * also depend on other columns of the same row. The default ignores them.
+     * 
+     * @param constraints The column constraints
+     * @param index Index of the sampled entry in {@link #getDictionary()}
+     * @param context The generation context, for its random stream and other columns
+     * @param row Row within the block's vectors, see {@link GenerationContext#getColumn}
+     * @return The generated value
+     */
+    protected String render(Map<String, Object> constraints, int index, GenerationContext context, int row) {
+        return render(constraints, index, context.getRandom());
+    }
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        if (!Distribution.isConfigured(constraints)) {
+            return constraints;
+        }
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(SAMPLER_KEY, Distribution.fromConstraints(constraints).sampler(dictionary.size()));
+        return prepared;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        SplittableRandom random = context.getRandom();
+        Distribution.Sampler sampler = sampler(constraints);
+        int index = sampler != null ? sampler.nextIndex(random) : dictionary.sampleIndex(random);
+        return render(constraints, index, context, context.getBlockRow());
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        SplittableRandom random = context.getRandom();
+        Distribution.Sampler sampler = sampler(constraints);
+        String[] values = vector.getStrings();
+        int firstRow = context.getBlockRow();
+        for (int i = 0; i < count; i++) {
+            int index = sampler != null ? sampler.nextIndex(random) : dictionary.sampleIndex(random);
+            values[i] = render(constraints, index, context, firstRow + i);
+        }
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        Distribution.describe(metadata);
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        return Distribution.validate(constraints);
+    }
+    
+    /**
+     * Get the sampler stored by {@link #prepareConstraints}, building it on the
+     * spot for callers that pass unprepared constraints.
+     * 
+     * @return The sampler, or null to use the dictionary's own weights
+     */
+    private Distribution.Sampler sampler(Map<String, Object> constraints) {
+        Object sampler = constraints.get(SAMPLER_KEY);
+        if (sampler instanceof Distribution.Sampler) {
+            return (Distribution.Sampler) sampler;
+        }
+        if (!Distribution.isConfigured(constraints)) {
+            return null;
+        }
+        return Distribution.fromConstraints(constraints).sampler(dictionary.size());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.ValueType;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Base class for number generators. Bounds are resolved once per column into
+ * a {@link NumericSpec} of unscaled longs; values are emitted as LONG or
+ * DECIMAL primitives and only formatted, with {@link FixedPoint}, when a
+ * string is actually needed.
+ */
+public abstract class AbstractNumericGenerator extends AbstractDataGenerator {
+    
+    private final boolean decimal;
+    private final int defaultScale;
+    private final BigDecimal defaultMin;
+    private final BigDecimal defaultMax;
+    private final BigDecimal lowest;
+    private final BigDecimal highest;
+    
+    /**
+     * @param type The generator type
+     * @param decimal True for fixed-point values with a precision constraint, false for integers
+     * @param defaultScale Digits after the point if no precision is given
+     * @param defaultMin Lower bound if minValue is not set
+     * @param defaultMax Upper bound if maxValue is not set
+     * @param lowest Smallest value the type can hold
+     * @param highest Largest value the type can hold
+     */
+    protected AbstractNumericGenerator(String type, boolean decimal, int defaultScale, long defaultMin,
+                                       long defaultMax, long lowest, long highest) {
+        super(type);
+        this.decimal = decimal;
+        this.defaultScale = defaultScale;
+        this.defaultMin = BigDecimal.valueOf(defaultMin);
+        this.defaultMax = BigDecimal.valueOf(defaultMax);
+        this.lowest = BigDecimal.valueOf(lowest);
+        this.highest = BigDecimal.valueOf(highest);
+    }
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(NumericSpec.KEY, spec(constraints));
+        return prepared;
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        return decimal ? ValueType.DECIMAL : ValueType.LONG;
+    }
+    
+    @Override
+    public int getScale(Map<String, Object> constraints) {
+        return spec(constraints).scale;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        NumericSpec spec = spec(constraints);
+        return format(constraints, spec, spec.next(context.getRandom()));
+    }
+    
+    @Override
+    public long generateLong(Map<String, Object> constraints, GenerationContext context) {
+        return spec(constraints).next(context.getRandom());
+    }
+    
+    @Override
+    public long generateDecimal(Map<String, Object> constraints, GenerationContext context) {
+        return spec(constraints).next(context.getRandom());
+    }
+    
+    @Override
+    public double generateDouble(Map<String, Object> constraints, GenerationContext context) {
+        NumericSpec spec = spec(constraints);
+        return (double) spec.next(context.getRandom()) / FixedPoint.powerOfTen(spec.scale);
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        NumericSpec spec = spec(constraints);
+        SplittableRandom random = context.getRandom();
+        
+        if (vector.getType() == ValueType.LONG || vector.getType() == ValueType.DECIMAL) {
+            spec.fill(random, vector.getLongs(), count);
+            return;
+        }
+        
+        String[] values = vector.getStrings();
+        for (int i = 0; i < count; i++) {
+            values[i] = format(constraints, spec, spec.next(random));
+        }
+    }
+    
+    /**
+     * Render an unscaled value as text. Subclasses may add decoration.
+     * 
+     * @param constraints The column constraints
+     * @param spec The column's resolved spec
+     * @param unscaled The generated value
+     * @return The text value
+     */
+    String format(Map<String, Object> constraints, NumericSpec spec, long unscaled) {
+        return spec.scale == 0 ? Long.toString(unscaled) : FixedPoint.toString(unscaled, spec.scale);
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("minValue", "number");
+        metadata.put("maxValue", "number");
+        if (decimal) {
+            metadata.put("precision", "number");
+        }
+        Distribution.describe(metadata);
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        for (String key : new String[] {"minValue", "maxValue"}) {
+            Object value = constraints.get(key);
+            if (value != null && NumericSpec.parse(value, null) == null) {
+                return Optional.of(key + " must be a number");
+            }
+        }
+        
+        BigDecimal min = NumericSpec.parse(constraints.get("minValue"), defaultMin);
+        BigDecimal max = NumericSpec.parse(constraints.get("maxValue"), defaultMax);
+        if (min.compareTo(max) > 0) {
+            return Optional.of("minValue cannot be greater than maxValue");
+        }
+        
+        if (decimal) {
+            Object precision = constraints.get("precision");
+            if (precision != null && (!(precision instanceof Integer)
+                    || (Integer) precision < 0 || (Integer) precision > FixedPoint.MAX_SCALE)) {
+                return Optional.of("precision must be between 0 and " + FixedPoint.MAX_SCALE);
+            }
+            BigDecimal limit = NumericSpec.decimalLimit(scale(constraints));
+            if (min.abs().compareTo(limit) > 0 || max.abs().compareTo(limit) > 0) {
+                return Optional.of("minValue and maxValue must be within +/-" + limit.toPlainString()
+                        + " at this precision");
+            }
+        } else if (min.compareTo(lowest) < 0 || max.compareTo(highest) > 0) {
+            return Optional.of("minValue and maxValue must be between " + lowest + " and " + highest);
+        }
+        
+        return Distribution.validate(constraints);
+    }
+    
+    /**
+     * Get the spec stored by {@link #prepareConstraints}, resolving it on the
+     * spot for callers that pass unprepared constraints.
+     */
+    NumericSpec spec(Map<String, Object> constraints) {
+        Object spec = constraints.get(NumericSpec.KEY);
+        if (spec instanceof NumericSpec) {
+            return (NumericSpec) spec;
+        }
+        
+        int scale = scale(constraints);
+        BigDecimal low = lowest;
+        BigDecimal high = highest;
+        if (decimal) {
+            BigDecimal limit = NumericSpec.decimalLimit(scale);
+            low = low.max(limit.negate());
+            high = high.min(limit);
+        }
+        return NumericSpec.resolve(constraints, scale, defaultMin, defaultMax, low, high);
+    }
+    
+    private int scale(Map<String, Object> constraints) {
+        if (!decimal) {
+            return 0;
+        }
+        Object precision = constraints.get("precision");
+        if (precision instanceof Number) {
+            return Math.max(0, Math.min(FixedPoint.MAX_SCALE, ((Number) precision).intValue()));
+        }
+        return defaultScale;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.tdg.service.generator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Base class for identifier-like types (SSN, phone, account numbers) whose
+ * values follow a format rather than a word list. Each type has a default
+ * regex that a {@code pattern} constraint can override; patterns are compiled
+ * once through the shared {@link PatternCache}, and the defaults all fall
+ * within the {@link SlotProgram} fast path.
+ */
+public abstract class AbstractPatternGenerator extends AbstractDataGenerator {
+    
+    private final String defaultPattern;
+    
+    @Autowired
+    private PatternCache patternCache;
+    
+    protected AbstractPatternGenerator(String type, String defaultPattern) {
+        super(type);
+        this.defaultPattern = defaultPattern;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        return compiled(constraints).generate(context.getRandom());
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        compiled(constraints).generate(context.getRandom(), vector.getStrings(), count);
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("pattern", "string");
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        String pattern = getConstraint(constraints, "pattern", "");
+        if (pattern != null && !pattern.isEmpty()) {
+            try {
+                patternCache.get(pattern);
+            } catch (Exception e) {
+                return Optional.of("Invalid regex pattern: " + e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private CompiledPattern compiled(Map<String, Object> constraints) {
+        String pattern = getConstraint(constraints, "pattern", "");
+        if (pattern != null && !pattern.isEmpty()) {
+            try {
+                return patternCache.get(pattern);
+            } catch (Exception e) {
+                // Fall back to the type's own format if the pattern is invalid
+            }
+        }
+        return patternCache.get(defaultPattern);
+    }
+}
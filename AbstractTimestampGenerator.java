@@ -0,0 +1,123 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.ValueType;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Base class for generators whose values are instants: they share the range,
+ * zone, sequence mode and distribution constraints of {@link TimestampSpec}
+ * and differ only in how an epoch-millisecond value is presented.
+ */
+public abstract class AbstractTimestampGenerator extends AbstractDataGenerator {
+    
+    protected AbstractTimestampGenerator(String type) {
+        super(type);
+    }
+    
+    /**
+     * Render a generated instant as text.
+     * 
+     * @param spec The column's resolved spec
+     * @param epochMillis The generated instant
+     * @return The text value
+     */
+    abstract String format(TimestampSpec spec, long epochMillis);
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(TimestampSpec.KEY, TimestampSpec.resolve(constraints));
+        return prepared;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        TimestampSpec spec = TimestampSpec.resolve(constraints);
+        return format(spec, spec.next(context.getRandom(), context.getRowIndex()));
+    }
+    
+    @Override
+    public long generateLong(Map<String, Object> constraints, GenerationContext context) {
+        return generateEpochMillis(constraints, context);
+    }
+    
+    @Override
+    public long generateEpochMillis(Map<String, Object> constraints, GenerationContext context) {
+        return TimestampSpec.resolve(constraints).next(context.getRandom(), context.getRowIndex());
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        TimestampSpec spec = TimestampSpec.resolve(constraints);
+        long firstRow = context.getRowIndex();
+        
+        if (vector.getType() == ValueType.LONG || vector.getType() == ValueType.TIMESTAMP) {
+            spec.fill(context.getRandom(), firstRow, vector.getLongs(), count);
+            return;
+        }
+        
+        // Same draws as fill, formatted straight into the vector
+        SplittableRandom random = context.getRandom();
+        String[] values = vector.getStrings();
+        spec.checkRows(firstRow, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = format(spec, spec.next(random, firstRow + i));
+        }
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("minTimestamp", "string");
+        metadata.put("maxTimestamp", "string");
+        metadata.put("zone", "string");
+        metadata.put("mode", "select:random,increasing");
+        metadata.put("stepMillis", "number");
+        Distribution.describe(metadata);
+        metadata.put(Distribution.KEY, "select:uniform,bursty,normal,zipf,exponential,weights");
+        metadata.put("burstCount", "number");
+        metadata.put("burstWidthMillis", "number");
+        metadata.put("burstSize", "number");
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        String zone = TimestampSpec.string(constraints, "zone", null);
+        if (zone != null) {
+            try {
+                ZoneId.of(zone);
+            } catch (RuntimeException e) {
+                return Optional.of("Invalid zone: " + zone);
+            }
+        }
+        
+        for (String key : new String[] {"minTimestamp", "maxTimestamp"}) {
+            String value = TimestampSpec.string(constraints, key, null);
+            if (value != null && TimestampSpec.parseMillis(value, ZoneOffset.UTC) == null) {
+                return Optional.of("Invalid " + key + ": Format should be yyyy-MM-dd'T'HH:mm:ss or yyyy-MM-dd");
+            }
+        }
+        
+        for (String key : new String[] {"stepMillis", "burstCount", "burstWidthMillis", "burstSize"}) {
+            if (constraints.containsKey(key) && TimestampSpec.number(constraints, key, 0) < 1) {
+                return Optional.of(key + " must be a positive number");
+            }
+        }
+        
+        // bursty is specific to timestamps; every other shape is a shared distribution
+        String distribution = TimestampSpec.string(constraints, Distribution.KEY, "uniform");
+        return "bursty".equalsIgnoreCase(distribution) ? Optional.empty() : Distribution.validate(constraints);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractPatternGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates account numbers, by default ACCT- followed by ten digits.
+ */
+@Component
+@DataGeneratorType(
+    category = "Financial",
+    displayName = "Account Number",
+    description = "Generates account numbers or values matching a pattern"
+)
+public class AccountNumberGenerator extends AbstractPatternGenerator {
+    
+    public AccountNumberGenerator() {
+        super("accountNumber", "ACCT-\\d{10}");
+    }
+}
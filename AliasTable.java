@@ -0,0 +1,97 @@
+package com.example.tdg.service.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walker/Vose alias table for sampling indexes with arbitrary weights in
+ * constant time: one uniform column pick and one biased coin per sample,
+ * regardless of the number of outcomes. Instances are immutable and can be
+ * shared between threads.
+ */
+public final class AliasTable {
+    
+    private final double[] probabilities;
+    private final int[] aliases;
+    
+    /**
+     * Build a table from non-negative weights; they need not sum to one.
+     * 
+     * @param weights Weight of each index
+     * @throws IllegalArgumentException If there are no weights, a weight is
+     *         negative or not finite, or all weights are zero
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        
+        probabilities = new double[n];
+        aliases = new int[n];
+        
+        // Scale so the average column holds exactly 1, then pair small columns with large ones
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1.0;
+        }
+    }
+    
+    /**
+     * @return Number of outcomes
+     */
+    public int size() {
+        return probabilities.length;
+    }
+    
+    /**
+     * Draw one index.
+     * 
+     * @param random The random stream
+     * @return An index in [0, size()), chosen with probability proportional to its weight
+     */
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+}
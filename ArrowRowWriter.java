@@ -0,0 +1,209 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.ValueType;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.WriteChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams rows in the Arrow IPC streaming format.
+ * Values are written straight into typed column vectors and written as record batches;
+ * every chunk writer emits complete, 8-byte aligned batch messages, so chunks
+ * can be concatenated between the schema message and the end-of-stream marker.
+ */
+public class ArrowRowWriter implements RowWriter {
+    
+    private static final BufferAllocator ROOT_ALLOCATOR = new RootAllocator(Long.MAX_VALUE);
+    
+    private final Schema schema;
+    private final int batchSize;
+    private final OutputStream outputStream;
+    private final WriteChannel channel;
+    
+    private BufferAllocator allocator;
+    private VectorSchemaRoot root;
+    private FieldVector[] vectors;
+    private int batchRows = 0;
+    
+    private ArrowRowWriter(Schema schema, int batchSize, OutputStream outputStream) {
+        this.schema = schema;
+        this.batchSize = batchSize;
+        this.outputStream = outputStream;
+        this.channel = new WriteChannel(Channels.newChannel(outputStream));
+    }
+    
+    /**
+     * Create a writer factory for a plan, building the Arrow schema once.
+     * 
+     * @param plan The compiled generation plan
+     * @param options Configured output settings
+     * @return A row writer factory
+     */
+    public static RowWriterFactory factory(GenerationPlan plan, OutputOptions options) {
+        String[] columnNames = plan.getColumnNames();
+        List<Field> fields = new ArrayList<>(columnNames.length);
+        
+        for (int i = 0; i < columnNames.length; i++) {
+            ArrowType type = toArrowType(plan.getColumn(i).getValueType(), plan.getColumn(i).getScale());
+            fields.add(new Field(columnNames[i], FieldType.nullable(type), null));
+        }
+        
+        Schema schema = new Schema(fields);
+        int batchSize = options.getArrowBatchSize();
+        
+        return (outputStream, firstRowIndex) ->
+                new ArrowRowWriter(schema, batchSize, outputStream);
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        MessageSerializer.serialize(channel, schema);
+    }
+    
+    @Override
+    public void startRow() {
+        if (root == null) {
+            allocateBatch();
+        }
+    }
+    
+    @Override
+    public void writeNull(int column) {
+        // Left unset; the validity bit stays cleared
+    }
+    
+    @Override
+    public void writeString(int column, String value) {
+        ((VarCharVector) vectors[column]).setSafe(batchRows, value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public void writeLong(int column, long value) {
+        ((BigIntVector) vectors[column]).setSafe(batchRows, value);
+    }
+    
+    @Override
+    public void writeDouble(int column, double value) {
+        ((Float8Vector) vectors[column]).setSafe(batchRows, value);
+    }
+    
+    @Override
+    public void writeDate(int column, long epochDay) {
+        ((DateDayVector) vectors[column]).setSafe(batchRows, (int) epochDay);
+    }
+    
+    @Override
+    public void writeTimestamp(int column, long epochMillis) {
+        ((TimeStampMilliTZVector) vectors[column]).setSafe(batchRows, epochMillis);
+    }
+    
+    @Override
+    public void writeDecimal(int column, long unscaled) {
+        ((DecimalVector) vectors[column]).setSafe(batchRows, unscaled);
+    }
+    
+    @Override
+    public void endRow() throws IOException {
+        if (++batchRows == batchSize) {
+            writeBatch();
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        if (batchRows > 0) {
+            writeBatch();
+        }
+        outputStream.flush();
+    }
+    
+    @Override
+    public void appendChunk(ByteArrayOutputStream chunk) throws IOException {
+        chunk.writeTo(outputStream);
+    }
+    
+    @Override
+    public void writeFooter() throws IOException {
+        ArrowStreamWriter.writeEndOfStream(channel, IpcOption.DEFAULT);
+        outputStream.flush();
+    }
+    
+    @Override
+    public void close() {
+        if (root != null) {
+            root.close();
+            allocator.close();
+            root = null;
+        }
+    }
+    
+    private void allocateBatch() {
+        allocator = ROOT_ALLOCATOR.newChildAllocator("arrow-row-writer", 0, Long.MAX_VALUE);
+        root = VectorSchemaRoot.create(schema, allocator);
+        root.allocateNew();
+        vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+    }
+    
+    /**
+     * Serialize the collected rows as one record batch and reset the vectors,
+     * keeping their buffers for the next batch.
+     */
+    private void writeBatch() throws IOException {
+        root.setRowCount(batchRows);
+        try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+            MessageSerializer.serialize(channel, batch);
+        }
+        
+        for (FieldVector vector : vectors) {
+            vector.reset();
+        }
+        batchRows = 0;
+    }
+    
+    private static ArrowType toArrowType(ValueType valueType, int scale) {
+        switch (valueType) {
+            case LONG:
+                return new ArrowType.Int(64, true);
+            case DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DATE:
+                return new ArrowType.Date(DateUnit.DAY);
+            case TIMESTAMP:
+                return new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+            case DECIMAL:
+                return new ArrowType.Decimal(FixedPoint.MAX_PRECISION, scale, 128);
+            default:
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+}
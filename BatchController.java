@@ -4,6 +4,7 @@ import com.example.tdg.exception.DataGenerationException;
 import com.example.tdg.exception.TemplateNotFoundException;
 import com.example.tdg.model.dto.BatchGenerationRequestDto;
 import com.example.tdg.model.dto.BatchGenerationResultDto;
+import com.example.tdg.model.dto.RelationalBatchRequestDto;
 import com.example.tdg.model.entity.Template;
 import com.example.tdg.service.BatchGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,4 +50,26 @@ public class BatchController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
+    
+    /**
+     * Generate related tables whose foreign keys reference generated parent keys.
+     * 
+     * @param request The relational batch request, parents first
+     * @return One result per table
+     */
+    @PostMapping("/relational")
+    public ResponseEntity<?> relationalGenerate(@Valid @RequestBody RelationalBatchRequestDto request) {
+        try {
+            List<BatchGenerationResultDto> results = batchGenerationService.generateRelational(
+                    request.getTables(),
+                    request.getOutputFormat(),
+                    request.getSeed()
+            );
+            return ResponseEntity.ok(results);
+        } catch (TemplateNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (DataGenerationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
 }
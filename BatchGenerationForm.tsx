@@ -233,6 +233,16 @@ const BatchGenerationForm: React.FC<BatchGenerationFormProps> = ({
                     <div className="format-option-label">JSON</div>
                   </div>
                   
+                  <div 
+                    className={`format-option-card ${formValues.outputFormat === OutputFormat.JSONL ? 'selected' : ''}`}
+                    onClick={() => handleFormatSelect(OutputFormat.JSONL)}
+                  >
+                    <div className="format-option-icon">
+                      <FileText size={24} />
+                    </div>
+                    <div className="format-option-label">JSON Lines</div>
+                  </div>
+                  
                   <div 
                     className={`format-option-card ${formValues.outputFormat === OutputFormat.XML ? 'selected' : ''}`}
                     onClick={() => handleFormatSelect(OutputFormat.XML)}
@@ -242,6 +252,26 @@ const BatchGenerationForm: React.FC<BatchGenerationFormProps> = ({
                     </div>
                     <div className="format-option-label">XML</div>
                   </div>
+                  
+                  <div 
+                    className={`format-option-card ${formValues.outputFormat === OutputFormat.PARQUET ? 'selected' : ''}`}
+                    onClick={() => handleFormatSelect(OutputFormat.PARQUET)}
+                  >
+                    <div className="format-option-icon">
+                      <Database size={24} />
+                    </div>
+                    <div className="format-option-label">Parquet</div>
+                  </div>
+                  
+                  <div 
+                    className={`format-option-card ${formValues.outputFormat === OutputFormat.ARROW ? 'selected' : ''}`}
+                    onClick={() => handleFormatSelect(OutputFormat.ARROW)}
+                  >
+                    <div className="format-option-icon">
+                      <Database size={24} />
+                    </div>
+                    <div className="format-option-label">Arrow</div>
+                  </div>
                 </div>
                 
                 <div className="form-row">
@@ -3,21 +3,42 @@ package com.example.tdg.service;
 import com.example.tdg.exception.DataGenerationException;
 import com.example.tdg.exception.TemplateNotFoundException;
 import com.example.tdg.model.dto.BatchGenerationResultDto;
+import com.example.tdg.model.dto.RelationalBatchRequestDto;
 import com.example.tdg.model.entity.Template;
 import com.example.tdg.repository.TemplateRepository;
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.ForeignKeyGenerator;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.ParentKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +55,13 @@ public class BatchGenerationService {
     @Autowired
     private TemplateRepository templateRepository;
     
+    // Relational batches write each table to a file here
+    @Value("${tdg.output.directory:generated-data}")
+    private String outputDirectory;
+    
+    // Bytes of each relational table kept for the result preview
+    private static final int PREVIEW_BYTES = 8192;
+    
     // Thread pool for parallel generation
     private final ExecutorService executorService = Executors.newFixedThreadPool(
             Math.max(2, Runtime.getRuntime().availableProcessors())
@@ -103,7 +131,7 @@ public class BatchGenerationService {
                 Instant start = Instant.now();
                 
                 // Generate data
-                byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat);
+                byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat, null);
                 
                 Instant end = Instant.now();
                 Duration duration = Duration.between(start, end);
@@ -153,7 +181,7 @@ public class BatchGenerationService {
                         Instant start = Instant.now();
                         
                         // Generate data
-                        byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat);
+                        byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat, null);
                         
                         Instant end = Instant.now();
                         Duration duration = Duration.between(start, end);
@@ -194,6 +222,184 @@ public class BatchGenerationService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Generate related tables, e.g. customers, their accounts and the accounts'
+     * transactions, so that every foreign key references a generated parent key.
+     * Tables are generated in list order and a parent must precede its children.
+     * Only the key column of a referenced parent is kept, as a key range for
+     * sequence keys or a primitive array otherwise, and it is released after
+     * its last child. Each table is streamed to a file in the output directory.
+     * 
+     * @param tables The tables, parents first
+     * @param outputFormat Output format
+     * @param seed Seed for reproducible output, or null for a random seed
+     * @return One result per table
+     * @throws TemplateNotFoundException If any template is not found
+     * @throws DataGenerationException If a table cannot be generated; later tables are not generated
+     */
+    public List<BatchGenerationResultDto> generateRelational(
+            List<RelationalBatchRequestDto.TableDto> tables,
+            Template.OutputFormat outputFormat,
+            Long seed) throws TemplateNotFoundException, DataGenerationException {
+        
+        if (tables == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("Tables list cannot be empty");
+        }
+        
+        Template.OutputFormat format = outputFormat != null ? outputFormat : Template.OutputFormat.CSV;
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        
+        // Check the structure and compile every template before any table is written
+        Map<Long, Integer> lastUse = checkRelations(tables);
+        List<GenerationPlan> plans = new ArrayList<>(tables.size());
+        for (RelationalBatchRequestDto.TableDto table : tables) {
+            plans.add(dataGenerationService.compilePlan(table.getTemplateId()));
+        }
+        
+        logger.info("Starting relational batch of {} tables with seed {}", tables.size(), runSeed);
+        
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        Map<Long, ParentKeys> parentKeys = new HashMap<>();
+        List<BatchGenerationResultDto> results = new ArrayList<>();
+        
+        for (int i = 0; i < tables.size(); i++) {
+            RelationalBatchRequestDto.TableDto table = tables.get(i);
+            GenerationPlan plan = plans.get(i);
+            long tableSeed = runSeed + i * 0x9e3779b97f4a7c15L;
+            Instant start = Instant.now();
+            
+            // Bind the foreign key column to the parent's keys
+            int rows = table.getRowCount() != null ? table.getRowCount() : 0;
+            if (table.getParentTemplateId() != null) {
+                ParentKeys parent = parentKeys.get(table.getParentTemplateId());
+                ForeignKeyGenerator foreignKeys;
+                if (table.getMinChildren() != null || table.getMaxChildren() != null) {
+                    int min = table.getMinChildren() != null ? table.getMinChildren() : 0;
+                    int max = table.getMaxChildren() != null ? table.getMaxChildren() : min;
+                    foreignKeys = ForeignKeyGenerator.fanOut(parent, min, max, ~tableSeed);
+                    rows = (int) foreignKeys.getChildCount();
+                } else {
+                    Map<String, Object> fanOut = table.getFanOutDistribution() != null
+                            ? table.getFanOutDistribution() : Collections.emptyMap();
+                    foreignKeys = ForeignKeyGenerator.sampled(parent, Distribution.fromConstraints(fanOut));
+                }
+                plan = plan.withGenerator(columnIndex(plan, table.getForeignKeyColumn()), foreignKeys);
+            }
+            
+            // Record the key column only if a later table references it
+            ParentKeys keys = null;
+            if (lastUse.containsKey(table.getTemplateId())) {
+                keys = ParentKeys.forColumn(plan.getColumn(columnIndex(plan, table.getKeyColumn())), rows);
+            }
+            
+            String filename = String.format("relational_%s_%d_%d.%s", timestamp, i + 1, table.getTemplateId(),
+                    format.toString().toLowerCase());
+            Path outputFile = Paths.get(outputDirectory).resolve(filename);
+            PreviewOutputStream preview;
+            try {
+                Files.createDirectories(outputFile.getParent());
+                try (PreviewOutputStream os = new PreviewOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(outputFile.toFile())))) {
+                    preview = os;
+                    dataGenerationService.generateData(plan, rows, format, tableSeed, os, keys);
+                }
+            } catch (IOException e) {
+                throw new DataGenerationException("Error writing " + outputFile + ": " + e.getMessage(), e);
+            }
+            
+            if (keys != null) {
+                parentKeys.put(table.getTemplateId(), keys);
+            }
+            // Drop parent keys no later table needs
+            int generated = i;
+            parentKeys.keySet().removeIf(templateId -> lastUse.get(templateId) <= generated);
+            
+            Duration duration = Duration.between(start, Instant.now());
+            BatchGenerationResultDto result = new BatchGenerationResultDto();
+            result.setTemplateId(table.getTemplateId());
+            result.setSuccess(true);
+            result.setMessage("Generated " + rows + " rows, saved to " + outputFile.toAbsolutePath());
+            result.setDurationMillis(duration.toMillis());
+            result.setOutputFormat(format);
+            result.setDataSize((int) Math.min(Integer.MAX_VALUE, preview.getCount()));
+            result.setDataPreview(extractPreview(preview.getHead(), format));
+            results.add(result);
+            
+            logger.info("Relational table {} (template {}) generated {} rows in {} ms",
+                    i + 1, table.getTemplateId(), rows, duration.toMillis());
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Check that every child names an earlier parent with a key column, a
+     * foreign key column and a cardinality.
+     * 
+     * @return Index of the last table referencing each parent, by parent template ID
+     */
+    private Map<Long, Integer> checkRelations(List<RelationalBatchRequestDto.TableDto> tables) {
+        Map<Long, Integer> positions = new HashMap<>();
+        Map<Long, Integer> lastUse = new HashMap<>();
+        
+        for (int i = 0; i < tables.size(); i++) {
+            RelationalBatchRequestDto.TableDto table = tables.get(i);
+            if (positions.putIfAbsent(table.getTemplateId(), i) != null) {
+                throw new IllegalArgumentException("Template " + table.getTemplateId() + " is listed twice");
+            }
+            
+            boolean fanOut = table.getMinChildren() != null || table.getMaxChildren() != null;
+            if (table.getParentTemplateId() == null) {
+                if (table.getRowCount() == null) {
+                    throw new IllegalArgumentException("Template " + table.getTemplateId() + " needs a row count");
+                }
+                continue;
+            }
+            
+            Integer parent = positions.get(table.getParentTemplateId());
+            if (parent == null || parent == i) {
+                throw new IllegalArgumentException("Parent template " + table.getParentTemplateId()
+                        + " must be listed before template " + table.getTemplateId());
+            }
+            if (tables.get(parent).getKeyColumn() == null) {
+                throw new IllegalArgumentException("Parent template " + table.getParentTemplateId()
+                        + " needs a key column");
+            }
+            if (table.getForeignKeyColumn() == null) {
+                throw new IllegalArgumentException("Template " + table.getTemplateId() + " needs a foreign key column");
+            }
+            if (!fanOut && table.getRowCount() == null) {
+                throw new IllegalArgumentException("Template " + table.getTemplateId()
+                        + " needs a row count or minChildren/maxChildren");
+            }
+            if (fanOut && table.getMinChildren() != null && table.getMaxChildren() != null
+                    && table.getMinChildren() > table.getMaxChildren()) {
+                throw new IllegalArgumentException("minChildren cannot be greater than maxChildren");
+            }
+            if (table.getFanOutDistribution() != null) {
+                Distribution.validate(table.getFanOutDistribution()).ifPresent(error -> {
+                    throw new IllegalArgumentException(error);
+                });
+            }
+            lastUse.put(table.getParentTemplateId(), i);
+        }
+        return lastUse;
+    }
+    
+    /**
+     * @return Output index of a named column
+     * @throws DataGenerationException If the plan has no such column
+     */
+    private int columnIndex(GenerationPlan plan, String name) throws DataGenerationException {
+        String[] names = plan.getColumnNames();
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) {
+                return c;
+            }
+        }
+        throw new DataGenerationException("Template '" + plan.getTemplateName() + "' has no column " + name);
+    }
+    
     /**
      * Extract a preview of the generated data.
      * 
@@ -202,6 +408,11 @@ public class BatchGenerationService {
      * @return Preview string
      */
     private String extractPreview(byte[] data, Template.OutputFormat outputFormat) {
+        // Binary formats have no readable preview
+        if (outputFormat == Template.OutputFormat.PARQUET || outputFormat == Template.OutputFormat.ARROW) {
+            return outputFormat + " data, " + data.length + " bytes";
+        }
+        
         String dataString = new String(data, StandardCharsets.UTF_8);
         
         // For each format, extract first few lines or elements
@@ -214,6 +425,10 @@ public class BatchGenerationService {
                 // For JSON, extract the first few array elements
                 return extractJsonPreview(dataString, 3);
             
+            case JSONL:
+                // For JSON Lines, each line is one row
+                return extractLines(dataString, 3);
+            
             case XML:
                 // For XML, extract the XML declaration and first few rows
                 return extractXmlPreview(dataString, 3);
@@ -319,4 +534,40 @@ public class BatchGenerationService {
             return xml;
         }
     }
+    
+    /**
+     * Passes bytes through while counting them and keeping the first
+     * {@link #PREVIEW_BYTES} for a preview.
+     */
+    private static final class PreviewOutputStream extends FilterOutputStream {
+        
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        private long count;
+        
+        PreviewOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (head.size() < PREVIEW_BYTES) {
+                head.write(b, off, (int) Math.min(len, PREVIEW_BYTES - head.size()));
+            }
+            count += len;
+        }
+        
+        byte[] getHead() {
+            return head.toByteArray();
+        }
+        
+        long getCount() {
+            return count;
+        }
+    }
 }
@@ -11,6 +11,29 @@ export interface BatchRequest {
   filename?: string;
 }
 
+/**
+ * Request for relational generation of parent and child tables
+ */
+export interface RelationalBatchRequest {
+  tables: RelationalTable[];
+  outputFormat?: OutputFormat;
+  seed?: number;
+}
+
+/**
+ * One table of a relational batch; parents are listed before their children
+ */
+export interface RelationalTable {
+  templateId: number;
+  rowCount?: number;
+  keyColumn?: string;
+  parentTemplateId?: number;
+  foreignKeyColumn?: string;
+  minChildren?: number;
+  maxChildren?: number;
+  fanOutDistribution?: Record<string, string | number>;
+}
+
 /**
  * Result of a batch generation operation
  */
@@ -0,0 +1,164 @@
+package com.example.tdg.service;
+
+import com.example.tdg.exception.DataGenerationException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bounded ring of generated chunks between the generation pool (producer
+ * stage) and the thread writing the output (consumer stage).
+ * <p>
+ * Producers claim chunks in index order and chunk {@code i} goes to slot
+ * {@code i % capacity}. A chunk can only be claimed once the chunk
+ * {@code capacity} positions before it has been taken, so at most
+ * {@code capacity} chunks are generated but not yet written, however slow
+ * the consumer is. When the ring is full producers return to the pool
+ * instead of blocking a pool thread; taking a chunk starts them again.
+ * 
+ * @param <T> The chunk result
+ */
+final class ChunkRing<T> {
+    
+    /**
+     * Produces one chunk.
+     */
+    @FunctionalInterface
+    interface ChunkTask<T> {
+        T generate(int chunkIndex) throws DataGenerationException;
+    }
+    
+    private final Object[] slots;
+    private final int chunkCount;
+    private final int maxProducers;
+    private final Executor executor;
+    private final ChunkTask<T> task;
+    
+    // Guarded by this
+    private int nextClaim;
+    private int nextTake;
+    private int producers;
+    private Throwable failure;
+    private boolean closed;
+    
+    /**
+     * @param capacity Most chunks generated ahead of the consumer
+     * @param chunkCount Number of chunks in the run
+     * @param maxProducers Most producer tasks running at once
+     * @param executor Runs the producer tasks
+     * @param task Generates a chunk
+     */
+    ChunkRing(int capacity, int chunkCount, int maxProducers, Executor executor, ChunkTask<T> task) {
+        this.slots = new Object[Math.max(1, capacity)];
+        this.chunkCount = chunkCount;
+        this.maxProducers = Math.max(1, maxProducers);
+        this.executor = executor;
+        this.task = task;
+    }
+    
+    /**
+     * Start generating chunks.
+     */
+    synchronized void start() {
+        startProducers();
+    }
+    
+    /**
+     * Take the next chunk in index order, waiting until it is generated.
+     * 
+     * @return The chunk
+     * @throws DataGenerationException If generating any chunk failed or the wait was interrupted
+     */
+    @SuppressWarnings("unchecked")
+    synchronized T take() throws DataGenerationException {
+        int slot = nextTake % slots.length;
+        while (slots[slot] == null && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+                throw new DataGenerationException("Data generation was interrupted", e);
+            }
+        }
+        if (failure != null) {
+            closed = true;
+            if (failure instanceof DataGenerationException) {
+                throw (DataGenerationException) failure;
+            }
+            throw new DataGenerationException("Error generating data: " + failure.getMessage(), failure);
+        }
+        
+        T chunk = (T) slots[slot];
+        slots[slot] = null;
+        nextTake++;
+        startProducers();
+        return chunk;
+    }
+    
+    /**
+     * Stop claiming chunks, e.g. because the output can no longer be written.
+     * Chunks already being generated are finished and dropped.
+     */
+    synchronized void close() {
+        closed = true;
+    }
+    
+    private boolean canClaim() {
+        return !closed && failure == null && nextClaim < chunkCount && nextClaim - nextTake < slots.length;
+    }
+    
+    /**
+     * Start producer tasks while there are free slots. Caller holds the lock.
+     */
+    private void startProducers() {
+        // No more producers than chunks that may be claimed right now
+        int claimable = (int) Math.min(chunkCount, (long) nextTake + slots.length) - nextClaim;
+        while (!closed && failure == null && producers < maxProducers && producers < claimable) {
+            producers++;
+            try {
+                executor.execute(this::produce);
+            } catch (RejectedExecutionException e) {
+                producers--;
+                failure = e;
+                notifyAll();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Producer loop: claim and generate chunks until the ring is full or the run is done.
+     */
+    private void produce() {
+        while (true) {
+            int chunkIndex;
+            synchronized (this) {
+                if (!canClaim()) {
+                    producers--;
+                    return;
+                }
+                chunkIndex = nextClaim++;
+            }
+            
+            T chunk;
+            try {
+                chunk = task.generate(chunkIndex);
+            } catch (Throwable e) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    producers--;
+                    notifyAll();
+                }
+                return;
+            }
+            
+            synchronized (this) {
+                slots[chunkIndex % slots.length] = chunk;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDictionaryGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.ValueDictionary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates US city names, weighted by population so large cities appear
+ * proportionally more often.
+ */
+@Component
+@DataGeneratorType(
+    category = "Address",
+    displayName = "City",
+    description = "Generates US city names weighted by population"
+)
+public class CityGenerator extends AbstractDictionaryGenerator {
+    
+    // The 50 largest US cities with their 2020 census population in thousands
+    private static final String[][] CITIES = {
+        {"New York", "8804"}, {"Los Angeles", "3899"}, {"Chicago", "2746"}, {"Houston", "2304"},
+        {"Phoenix", "1608"}, {"Philadelphia", "1603"}, {"San Antonio", "1434"}, {"San Diego", "1386"},
+        {"Dallas", "1304"}, {"San Jose", "1013"}, {"Austin", "961"}, {"Jacksonville", "949"},
+        {"Fort Worth", "918"}, {"Columbus", "905"}, {"Indianapolis", "887"}, {"Charlotte", "874"},
+        {"San Francisco", "873"}, {"Seattle", "737"}, {"Denver", "715"}, {"Washington", "689"},
+        {"Nashville", "689"}, {"Oklahoma City", "681"}, {"El Paso", "678"}, {"Boston", "675"},
+        {"Portland", "652"}, {"Las Vegas", "641"}, {"Detroit", "639"}, {"Memphis", "633"},
+        {"Louisville", "633"}, {"Baltimore", "585"}, {"Milwaukee", "577"}, {"Albuquerque", "564"},
+        {"Tucson", "542"}, {"Fresno", "542"}, {"Sacramento", "524"}, {"Kansas City", "508"},
+        {"Mesa", "504"}, {"Atlanta", "498"}, {"Omaha", "486"}, {"Colorado Springs", "478"},
+        {"Raleigh", "467"}, {"Long Beach", "466"}, {"Virginia Beach", "459"}, {"Miami", "442"},
+        {"Oakland", "440"}, {"Minneapolis", "429"}, {"Tulsa", "413"}, {"Bakersfield", "403"},
+        {"Wichita", "397"}, {"Arlington", "394"}
+    };
+    
+    public CityGenerator() {
+        super("city");
+    }
+    
+    @Override
+    protected ValueDictionary loadDictionary() {
+        String[] names = new String[CITIES.length];
+        double[] weights = new double[CITIES.length];
+        for (int i = 0; i < CITIES.length; i++) {
+            names[i] = CITIES[i][0];
+            weights[i] = Double.parseDouble(CITIES[i][1]);
+        }
+        return ValueDictionary.weighted(names, weights);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.tdg.service.generator;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable, pre-resolved description of how to generate a single column.
+ * Built once per template by {@link GenerationPlanCompiler} so the row loop
+ * never has to look up generators or re-parse constraint strings.
+ */
+public final class ColumnPlan {
+    
+    /** Constraint asking the engine to never repeat a value within a column. */
+    public static final String UNIQUE = "unique";
+    
+    private final int index;
+    private final String name;
+    private final String type;
+    private final DataGenerator generator;
+    private final ValueType valueType;
+    private final int scale;
+    private final Map<String, Object> constraints;
+    private final NullStrategy nullStrategy;
+    private final boolean unique;
+    private final int[] dependencies;
+    
+    ColumnPlan(int index, String name, String type, DataGenerator generator, Map<String, Object> constraints,
+               NullStrategy nullStrategy, boolean unique, int[] dependencies) {
+        this.index = index;
+        this.name = name;
+        this.type = type;
+        this.generator = generator;
+        this.constraints = Collections.unmodifiableMap(constraints);
+        this.valueType = generator.getValueType(this.constraints);
+        this.scale = valueType == ValueType.DECIMAL ? generator.getScale(this.constraints) : 0;
+        this.nullStrategy = nullStrategy;
+        this.unique = unique;
+        this.dependencies = dependencies;
+    }
+    
+    /**
+     * @return Position of this column in the output row
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public DataGenerator getGenerator() {
+        return generator;
+    }
+    
+    /**
+     * @return Native type of this column's values
+     */
+    public ValueType getValueType() {
+        return valueType;
+    }
+    
+    /**
+     * @return Digits after the decimal point of a DECIMAL column, 0 otherwise
+     */
+    public int getScale() {
+        return scale;
+    }
+    
+    /**
+     * @return Typed, read-only constraints passed to the generator
+     */
+    public Map<String, Object> getConstraints() {
+        return constraints;
+    }
+    
+    /**
+     * @return True if some rows of this column may be null
+     */
+    public boolean isNullable() {
+        return !nullStrategy.isNone();
+    }
+    
+    /**
+     * @return Expected fraction of null rows
+     */
+    public double getNullProbability() {
+        return nullStrategy.getFraction();
+    }
+    
+    /**
+     * @return Which rows of this column are null
+     */
+    public NullStrategy getNullStrategy() {
+        return nullStrategy;
+    }
+    
+    /**
+     * @return True if non-null values of this column must not repeat
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+    
+    /**
+     * @return Indexes of the columns this column reads from the same row (do not modify)
+     */
+    public int[] getDependencies() {
+        return dependencies;
+    }
+    
+    @Override
+    public String toString() {
+        return "ColumnPlan{" +
+                "index=" + index +
+                ", name='" + name + '\'' +
+                ", type='" + type + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.tdg.service.generator;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer holding one column's values for a block of rows.
+ * Only the array matching the vector's {@link ValueType} is allocated:
+ * {@code longs} for LONG, DATE (as epoch days), TIMESTAMP (as epoch
+ * milliseconds) and DECIMAL (as unscaled values), {@code doubles} for DOUBLE
+ * and {@code strings} for STRING. The arrays are exposed directly so that
+ * generators can fill them in tight loops.
+ */
+public final class ColumnVector {
+    
+    private final ValueType type;
+    private final int capacity;
+    private final boolean[] nulls;
+    private final long[] longs;
+    private final double[] doubles;
+    private final String[] strings;
+    
+    public ColumnVector(ValueType type, int capacity) {
+        this.type = type;
+        this.capacity = capacity;
+        this.nulls = new boolean[capacity];
+        this.longs = type == ValueType.LONG || type == ValueType.DATE || type == ValueType.TIMESTAMP
+                || type == ValueType.DECIMAL ? new long[capacity] : null;
+        this.doubles = type == ValueType.DOUBLE ? new double[capacity] : null;
+        this.strings = type == ValueType.STRING ? new String[capacity] : null;
+    }
+    
+    public ValueType getType() {
+        return type;
+    }
+    
+    /**
+     * @return Maximum number of rows per block
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * @return Values of a LONG, DATE, TIMESTAMP or DECIMAL vector
+     */
+    public long[] getLongs() {
+        return longs;
+    }
+    
+    /**
+     * @return Values of a DOUBLE vector
+     */
+    public double[] getDoubles() {
+        return doubles;
+    }
+    
+    /**
+     * @return Values of a STRING vector
+     */
+    public String[] getStrings() {
+        return strings;
+    }
+    
+    /**
+     * @return Null flags of all rows, for marking nulls in bulk
+     */
+    public boolean[] getNulls() {
+        return nulls;
+    }
+    
+    public boolean isNull(int row) {
+        return nulls[row];
+    }
+    
+    public void setNull(int row) {
+        nulls[row] = true;
+    }
+    
+    /**
+     * Overwrite one row with a value of another vector of the same type.
+     * 
+     * @param row Target row
+     * @param source Vector holding the value
+     * @param sourceRow Row of the value in the source vector
+     */
+    public void copy(int row, ColumnVector source, int sourceRow) {
+        nulls[row] = source.nulls[sourceRow];
+        if (longs != null) {
+            longs[row] = source.longs[sourceRow];
+        } else if (doubles != null) {
+            doubles[row] = source.doubles[sourceRow];
+        } else {
+            strings[row] = source.strings[sourceRow];
+        }
+    }
+    
+    /**
+     * Mark the first rows as non-null before a new block is generated.
+     * 
+     * @param count Number of rows in the block
+     */
+    public void reset(int count) {
+        Arrays.fill(nulls, 0, count, false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tdg.service.generator;
+
+import com.mifmif.common.regex.Generex;
+import dk.brics.automaton.Automaton;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A regex pattern ready for string generation, as held by {@link PatternCache}.
+ * Simple patterns run as a {@link SlotProgram}; everything else goes through
+ * Generex over a shared, precompiled automaton. Instances are immutable and
+ * can be used from any number of threads.
+ */
+public final class CompiledPattern {
+    
+    private final SlotProgram program;
+    private final Automaton automaton;
+    
+    CompiledPattern(SlotProgram program) {
+        this.program = program;
+        this.automaton = null;
+    }
+    
+    CompiledPattern(Automaton automaton) {
+        this.program = null;
+        this.automaton = automaton;
+    }
+    
+    /**
+     * @return True if the pattern runs on the slot program fast path
+     */
+    public boolean isFastPath() {
+        return program != null;
+    }
+    
+    /**
+     * Generate one matching string.
+     * 
+     * @param random The random stream
+     * @return A string matching the pattern
+     */
+    public String generate(SplittableRandom random) {
+        if (program != null) {
+            char[] buffer = new char[program.getMaxLength()];
+            return new String(buffer, 0, program.fill(random, buffer));
+        }
+        return new Generex(automaton, new Random(random.nextLong())).random();
+    }
+    
+    /**
+     * Generate matching strings for a block of rows, reusing one buffer or
+     * one Generex instance for the whole block.
+     * 
+     * @param random The random stream
+     * @param values Target array
+     * @param count Number of values to generate
+     */
+    public void generate(SplittableRandom random, String[] values, int count) {
+        if (program != null) {
+            char[] buffer = new char[program.getMaxLength()];
+            for (int i = 0; i < count; i++) {
+                values[i] = new String(buffer, 0, program.fill(random, buffer));
+            }
+            return;
+        }
+        
+        Generex generex = new Generex(automaton, new Random());
+        for (int i = 0; i < count; i++) {
+            generex.setSeed(random.nextLong());
+            values[i] = generex.random();
+        }
+    }
+}
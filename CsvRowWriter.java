@@ -0,0 +1,283 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.IsoDates;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams rows as CSV.
+ * Values are escaped and UTF-8 encoded in a single pass straight into a
+ * reusable byte buffer, which is flushed to the target stream when full,
+ * so writing a row allocates nothing. Longs, decimals, ISO dates and
+ * timestamps are rendered as digits directly into the buffer.
+ */
+public class CsvRowWriter implements RowWriter {
+    
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    private final String[] columnNames;
+    private final int[] scales;
+    private final OutputStream outputStream;
+    private final byte delimiter;
+    private final byte quote;
+    private final byte[] lineEnding;
+    
+    // Digits and '-' never need quoting unless used as delimiter or quote
+    private final boolean plainNumbers;
+    private final boolean plainDecimals;
+    private final boolean plainTimestamps;
+    
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    
+    public CsvRowWriter(GenerationPlan plan, OutputStream outputStream, OutputOptions options) {
+        this.columnNames = plan.getColumnNames();
+        this.scales = plan.getScales();
+        this.outputStream = outputStream;
+        this.delimiter = (byte) options.getCsvDelimiter();
+        this.quote = (byte) options.getCsvQuote();
+        
+        String eol = options.getCsvLineEnding();
+        this.lineEnding = new byte[eol.length()];
+        for (int i = 0; i < lineEnding.length; i++) {
+            lineEnding[i] = (byte) eol.charAt(i);
+        }
+        
+        this.plainNumbers = !isNumberChar(delimiter) && !isNumberChar(quote);
+        this.plainDecimals = plainNumbers && delimiter != '.' && quote != '.';
+        this.plainTimestamps = plainNumbers && !isTimestampChar(delimiter) && !isTimestampChar(quote);
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (i > 0) {
+                writeByte(delimiter);
+            }
+            writeField(columnNames[i]);
+        }
+        writeLineEnding();
+    }
+    
+    @Override
+    public void startRow() {
+    }
+    
+    @Override
+    public void writeNull(int column) throws IOException {
+        // Null values are written as empty fields
+        startField(column);
+    }
+    
+    @Override
+    public void writeString(int column, String value) throws IOException {
+        startField(column);
+        writeField(value);
+    }
+    
+    @Override
+    public void writeLong(int column, long value) throws IOException {
+        startField(column);
+        if (!plainNumbers || value == Long.MIN_VALUE) {
+            writeField(Long.toString(value));
+            return;
+        }
+        
+        // Sign plus up to 19 digits
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digitCount(value);
+        for (int p = end - 1; p >= position; p--) {
+            buffer[p] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+    
+    @Override
+    public void writeDouble(int column, double value) throws IOException {
+        startField(column);
+        writeField(Double.toString(value));
+    }
+    
+    @Override
+    public void writeDecimal(int column, long unscaled) throws IOException {
+        startField(column);
+        if (!plainDecimals) {
+            writeField(FixedPoint.toString(unscaled, scales[column]));
+            return;
+        }
+        
+        ensureCapacity(FixedPoint.MAX_LENGTH);
+        position += FixedPoint.format(unscaled, scales[column], buffer, position);
+    }
+    
+    @Override
+    public void writeDate(int column, long epochDay) throws IOException {
+        startField(column);
+        if (!plainNumbers || !IsoDates.isFixedLength(epochDay)) {
+            writeField(IsoDates.toString(epochDay));
+            return;
+        }
+        
+        ensureCapacity(IsoDates.LENGTH);
+        IsoDates.format(epochDay, buffer, position);
+        position += IsoDates.LENGTH;
+    }
+    
+    @Override
+    public void writeTimestamp(int column, long epochMillis) throws IOException {
+        startField(column);
+        if (!plainTimestamps || !IsoDates.isFixedLengthMillis(epochMillis)) {
+            writeField(IsoDates.toTimestampString(epochMillis));
+            return;
+        }
+        
+        ensureCapacity(IsoDates.TIMESTAMP_LENGTH);
+        IsoDates.formatTimestamp(epochMillis, buffer, position);
+        position += IsoDates.TIMESTAMP_LENGTH;
+    }
+    
+    @Override
+    public void endRow() throws IOException {
+        writeLineEnding();
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        outputStream.flush();
+    }
+    
+    @Override
+    public void appendChunk(ByteArrayOutputStream chunk) throws IOException {
+        flushBuffer();
+        chunk.writeTo(outputStream);
+    }
+    
+    @Override
+    public void writeFooter() throws IOException {
+        flush();
+    }
+    
+    private void startField(int column) throws IOException {
+        if (column > 0) {
+            writeByte(delimiter);
+        }
+    }
+    
+    /**
+     * Escape and encode a field.
+     * The value is encoded optimistically; if it turns out to need quoting, the
+     * bytes written so far are shifted by one to make room for the opening quote.
+     */
+    private void writeField(String value) throws IOException {
+        int length = value.length();
+        
+        // Worst case: 3 bytes per char plus the surrounding quotes
+        ensureCapacity(length * 3 + 2);
+        
+        byte[] buf = buffer;
+        int start = position;
+        int p = start;
+        boolean quoted = false;
+        
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            
+            if (c < 0x80) {
+                if (!quoted && (c == delimiter || c == quote || c == '\n' || c == '\r')) {
+                    System.arraycopy(buf, start, buf, start + 1, p - start);
+                    buf[start] = quote;
+                    p++;
+                    quoted = true;
+                }
+                if (c == quote) {
+                    buf[p++] = quote;
+                }
+                buf[p++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[p++] = (byte) (0xC0 | (c >> 6));
+                buf[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[p++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced the same way String.getBytes does
+                buf[p++] = '?';
+            } else {
+                buf[p++] = (byte) (0xE0 | (c >> 12));
+                buf[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        
+        if (quoted) {
+            buf[p++] = quote;
+        }
+        position = p;
+    }
+    
+    private void writeByte(byte b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = b;
+    }
+    
+    private void writeLineEnding() throws IOException {
+        ensureCapacity(lineEnding.length);
+        for (byte b : lineEnding) {
+            buffer[position++] = b;
+        }
+    }
+    
+    /**
+     * Make sure the buffer has room for the given number of bytes,
+     * flushing it or, for oversized values, growing it.
+     */
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position >= bytes) {
+            return;
+        }
+        flushBuffer();
+        if (buffer.length < bytes) {
+            buffer = new byte[bytes];
+        }
+    }
+    
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+    
+    private static boolean isNumberChar(byte b) {
+        return b == '-' || (b >= '0' && b <= '9');
+    }
+    
+    private static boolean isTimestampChar(byte b) {
+        return b == 'T' || b == ':' || b == '.' || b == 'Z';
+    }
+    
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
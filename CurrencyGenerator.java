@@ -0,0 +1,49 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.ValueType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Generates monetary amounts as fixed-point decimals with two fraction digits
+ * by default. Without a symbol the column is a native DECIMAL; with a
+ * {@code symbol} constraint it is text such as "$1234.50".
+ */
+@Component
+@DataGeneratorType(
+    category = "Financial",
+    displayName = "Currency",
+    description = "Generates monetary amounts within a range"
+)
+public class CurrencyGenerator extends AbstractNumericGenerator {
+    
+    public CurrencyGenerator() {
+        super("currency", true, 2, 10, 10000, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        return symbol(constraints).isEmpty() ? ValueType.DECIMAL : ValueType.STRING;
+    }
+    
+    @Override
+    String format(Map<String, Object> constraints, NumericSpec spec, long unscaled) {
+        String amount = super.format(constraints, spec, unscaled);
+        String symbol = symbol(constraints);
+        return symbol.isEmpty() ? amount : symbol + amount;
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = super.getConstraintsMetadata();
+        metadata.put("symbol", "string");
+        return metadata;
+    }
+    
+    private String symbol(Map<String, Object> constraints) {
+        Object symbol = constraints.get("symbol");
+        return symbol != null ? symbol.toString() : "";
+    }
+}
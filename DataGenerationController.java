@@ -5,12 +5,14 @@ import com.example.tdg.exception.TemplateNotFoundException;
 import com.example.tdg.model.dto.GenerationRequestDto;
 import com.example.tdg.model.entity.Template;
 import com.example.tdg.service.DataGenerationService;
+import com.example.tdg.service.generator.GenerationPlan;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.UUID;
@@ -37,11 +39,11 @@ public class DataGenerationController {
             // Get parameters from request
             Long templateId = generationRequest.getTemplateId();
             int rowCount = generationRequest.getRowCount() != null ? generationRequest.getRowCount() : 100;
-            Template.OutputFormat outputFormat = generationRequest.getOutputFormat() != null 
+            Template.OutputFormat outputFormat = generationRequest.getOutputFormat() != null
                     ? generationRequest.getOutputFormat() : Template.OutputFormat.CSV;
             
             // Generate the data
-            byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat);
+            byte[] data = dataGenerationService.generateData(templateId, rowCount, outputFormat, generationRequest.getSeed());
             
             // Set up file name and content type
             String filename = generationRequest.getFilename();
@@ -49,38 +51,7 @@ public class DataGenerationController {
                 filename = "generated_data_" + UUID.randomUUID().toString();
             }
             
-            // Add appropriate extension based on format
-            switch (outputFormat) {
-                case CSV:
-                    filename += ".csv";
-                    break;
-                case JSON:
-                    filename += ".json";
-                    break;
-                case XML:
-                    filename += ".xml";
-                    break;
-            }
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentDispositionFormData("attachment", filename);
-            
-            // Set content type based on format
-            MediaType mediaType;
-            switch (outputFormat) {
-                case CSV:
-                    mediaType = MediaType.parseMediaType("text/csv");
-                    break;
-                case JSON:
-                    mediaType = MediaType.APPLICATION_JSON;
-                    break;
-                case XML:
-                    mediaType = MediaType.APPLICATION_XML;
-                    break;
-                default:
-                    mediaType = MediaType.TEXT_PLAIN;
-            }
-            headers.setContentType(mediaType);
+            HttpHeaders headers = createDownloadHeaders(filename, outputFormat);
             
             return new ResponseEntity<>(data, headers, HttpStatus.OK);
         } catch (TemplateNotFoundException e) {
@@ -97,13 +68,15 @@ public class DataGenerationController {
      * @param templateId The template ID
      * @param rowCount The number of rows to generate (optional)
      * @param format The output format (optional)
+     * @param seed Seed for reproducible output (optional)
      * @return The generated data as a file download
      */
     @GetMapping("/{templateId}")
     public ResponseEntity<byte[]> generateDataGet(
             @PathVariable Long templateId,
             @RequestParam(required = false) Integer rowCount,
-            @RequestParam(required = false) String format) {
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long seed) {
         
         try {
             // Set defaults if not provided
@@ -119,49 +92,144 @@ public class DataGenerationController {
             }
             
             // Generate the data
-            byte[] data = dataGenerationService.generateData(templateId, rows, outputFormat);
+            byte[] data = dataGenerationService.generateData(templateId, rows, outputFormat, seed);
             
             // Set up file name and content type
             String filename = "generated_data_" + templateId + "_" + UUID.randomUUID().toString();
             
-            // Add appropriate extension
-            switch (outputFormat) {
-                case CSV:
-                    filename += ".csv";
-                    break;
-                case JSON:
-                    filename += ".json";
-                    break;
-                case XML:
-                    filename += ".xml";
-                    break;
+            HttpHeaders headers = createDownloadHeaders(filename, outputFormat);
+            
+            return new ResponseEntity<>(data, headers, HttpStatus.OK);
+        } catch (TemplateNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (DataGenerationException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Generate data based on a template and stream it to the client.
+     * Rows are written to the response as they are generated, so memory usage
+     * stays bounded regardless of the requested row count.
+     * 
+     * @param generationRequest The generation request DTO
+     * @return The generated data as a streamed file download
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamData(@Valid @RequestBody GenerationRequestDto generationRequest) {
+        try {
+            Long templateId = generationRequest.getTemplateId();
+            int rowCount = generationRequest.getRowCount() != null ? generationRequest.getRowCount() : 100;
+            Template.OutputFormat outputFormat = generationRequest.getOutputFormat() != null
+                    ? generationRequest.getOutputFormat() : Template.OutputFormat.CSV;
+            
+            // Compile before streaming so errors still map to a proper status code
+            GenerationPlan plan = dataGenerationService.compilePlan(templateId);
+            
+            String filename = generationRequest.getFilename();
+            if (filename == null || filename.trim().isEmpty()) {
+                filename = "generated_data_" + UUID.randomUUID().toString();
             }
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentDispositionFormData("attachment", filename);
-            
-            // Set content type based on format
-            MediaType mediaType;
-            switch (outputFormat) {
-                case CSV:
-                    mediaType = MediaType.parseMediaType("text/csv");
-                    break;
-                case JSON:
-                    mediaType = MediaType.APPLICATION_JSON;
-                    break;
-                case XML:
-                    mediaType = MediaType.APPLICATION_XML;
-                    break;
-                default:
-                    mediaType = MediaType.TEXT_PLAIN;
+            HttpHeaders headers = createDownloadHeaders(filename, outputFormat);
+            Long seed = generationRequest.getSeed();
+            StreamingResponseBody body = outputStream ->
+                    dataGenerationService.generateData(plan, rowCount, outputFormat, seed, outputStream);
+            
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        } catch (TemplateNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (DataGenerationException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Stream generated data for a template directly via GET.
+     * 
+     * @param templateId The template ID
+     * @param rowCount The number of rows to generate (optional)
+     * @param format The output format (optional)
+     * @param seed Seed for reproducible output (optional)
+     * @return The generated data as a streamed file download
+     */
+    @GetMapping("/{templateId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamDataGet(
+            @PathVariable Long templateId,
+            @RequestParam(required = false) Integer rowCount,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long seed) {
+        
+        try {
+            int rows = rowCount != null ? rowCount : 100;
+            
+            Template.OutputFormat outputFormat = Template.OutputFormat.CSV;
+            if (format != null) {
+                try {
+                    outputFormat = Template.OutputFormat.valueOf(format.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    // Invalid format, use default
+                }
             }
-            headers.setContentType(mediaType);
+            Template.OutputFormat resolvedFormat = outputFormat;
             
-            return new ResponseEntity<>(data, headers, HttpStatus.OK);
+            GenerationPlan plan = dataGenerationService.compilePlan(templateId);
+            
+            String filename = "generated_data_" + templateId + "_" + UUID.randomUUID().toString();
+            HttpHeaders headers = createDownloadHeaders(filename, resolvedFormat);
+            StreamingResponseBody body = outputStream ->
+                    dataGenerationService.generateData(plan, rows, resolvedFormat, seed, outputStream);
+            
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
         } catch (TemplateNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         } catch (DataGenerationException e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    
+    /**
+     * Build attachment headers for a generated file.
+     * 
+     * @param filename The base file name, without extension
+     * @param outputFormat The output format
+     * @return Headers with content disposition and content type set
+     */
+    private HttpHeaders createDownloadHeaders(String filename, Template.OutputFormat outputFormat) {
+        // Add appropriate extension and content type based on format
+        MediaType mediaType;
+        switch (outputFormat) {
+            case CSV:
+                filename += ".csv";
+                mediaType = MediaType.parseMediaType("text/csv");
+                break;
+            case JSON:
+                filename += ".json";
+                mediaType = MediaType.APPLICATION_JSON;
+                break;
+            case JSONL:
+                filename += ".jsonl";
+                mediaType = MediaType.parseMediaType("application/x-ndjson");
+                break;
+            case XML:
+                filename += ".xml";
+                mediaType = MediaType.APPLICATION_XML;
+                break;
+            case PARQUET:
+                filename += ".parquet";
+                mediaType = MediaType.parseMediaType("application/vnd.apache.parquet");
+                break;
+            case ARROW:
+                filename += ".arrows";
+                mediaType = MediaType.parseMediaType("application/vnd.apache.arrow.stream");
+                break;
+            default:
+                mediaType = MediaType.TEXT_PLAIN;
+        }
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDispositionFormData("attachment", filename);
+        headers.setContentType(mediaType);
+        return headers;
+    }
 }
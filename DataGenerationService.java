@@ -2,22 +2,34 @@ package com.example.tdg.service;
 
 import com.example.tdg.exception.DataGenerationException;
 import com.example.tdg.exception.TemplateNotFoundException;
-import com.example.tdg.model.entity.ColumnDefinition;
 import com.example.tdg.model.entity.Template;
 import com.example.tdg.repository.TemplateRepository;
-import com.example.tdg.service.generator.DataGenerator;
-import com.example.tdg.service.generator.DataTypeRegistry;
+import com.example.tdg.service.generator.ColumnPlan;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.GenerationPlanCompiler;
+import com.example.tdg.service.generator.ParentKeys;
+import com.example.tdg.service.generator.UniqueValueSet;
+import com.example.tdg.service.output.OutputOptions;
+import com.example.tdg.service.output.RowWriter;
+import com.example.tdg.service.output.RowWriterFactory;
+import com.example.tdg.service.output.RowWriters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for generating data based on templates.
@@ -31,322 +43,423 @@ public class DataGenerationService {
     private TemplateRepository templateRepository;
     
     @Autowired
-    private DataTypeRegistry dataTypeRegistry;
+    private GenerationPlanCompiler generationPlanCompiler;
+    
+    @Autowired
+    private OutputOptions outputOptions;
+    
+    // Number of rows generated and serialized as one unit of parallel work
+    @Value("${tdg.generation.chunk-size:10000}")
+    private int chunkSize;
+    
+    // Rows generated column-at-a-time before being handed to the writer
+    @Value("${tdg.generation.block-size:1024}")
+    private int blockSize;
+    
+    // Worker threads for intra-template generation (0 = one per core, less one for the writer)
+    @Value("${tdg.generation.parallelism:0}")
+    private int parallelism;
+    
+    // Chunks generated ahead of the writer before generation pauses (0 = twice the parallelism)
+    @Value("${tdg.generation.buffered-chunks:0}")
+    private int bufferedChunks;
+    
+    // Draws per row of a unique column before its value space is considered exhausted
+    @Value("${tdg.generation.unique-max-attempts:100}")
+    private int uniqueMaxAttempts;
+    
+    private ForkJoinPool generationPool;
+    
+    /**
+     * Create the generation pool once configuration has been injected.
+     */
+    @PostConstruct
+    public void init() {
+        if (chunkSize < 1) {
+            chunkSize = 10000;
+        }
+        if (blockSize < 1) {
+            blockSize = 1024;
+        }
+        if (uniqueMaxAttempts < 1) {
+            uniqueMaxAttempts = 100;
+        }
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        generationPool = new ForkJoinPool(threads);
+        if (bufferedChunks < 1) {
+            bufferedChunks = threads * 2;
+        }
+        
+        logger.info("Data generation pool started with {} threads, chunk size {}, {} buffered chunks",
+                threads, chunkSize, bufferedChunks);
+    }
+    
+    /**
+     * Stop the generation pool on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        generationPool.shutdownNow();
+    }
     
     /**
      * Generate data based on a template.
+     * The whole output is buffered in memory; use
+     * {@link #generateData(GenerationPlan, int, Template.OutputFormat, Long, OutputStream)} for large row counts.
      * 
      * @param templateId The template ID
      * @param rowCount The number of rows to generate
      * @param outputFormat The output format (CSV, JSON, XML)
+     * @param seed Seed for reproducible output, or null for a random seed
      * @return Generated data as byte array
      * @throws TemplateNotFoundException If template not found
      * @throws DataGenerationException If generation fails
      */
-    public byte[] generateData(Long templateId, int rowCount, Template.OutputFormat outputFormat) 
+    public byte[] generateData(Long templateId, int rowCount, Template.OutputFormat outputFormat, Long seed)
             throws TemplateNotFoundException, DataGenerationException {
         
-        Template template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new TemplateNotFoundException("Template not found with ID: " + templateId));
-        
-        // Generate data rows
-        List<Map<String, String>> dataRows = generateDataRows(template, rowCount);
+        GenerationPlan plan = compilePlan(templateId);
         
-        // Format output
-        return formatOutput(dataRows, template, outputFormat);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generateData(plan, rowCount, outputFormat, seed, outputStream);
+        return outputStream.toByteArray();
     }
     
     /**
-     * Generate data rows based on template column definitions.
+     * Load a template and compile it into a generation plan.
+     * Callers that stream output should compile first so that a missing template
+     * or unknown column type is reported before any bytes are written.
      * 
-     * @param template The template
-     * @param rowCount The number of rows to generate
-     * @return List of data rows (each row is a map of column name to value)
-     * @throws DataGenerationException If generation fails
+     * @param templateId The template ID
+     * @return The compiled generation plan
+     * @throws TemplateNotFoundException If template not found
+     * @throws DataGenerationException If the template cannot be compiled
      */
-    private List<Map<String, String>> generateDataRows(Template template, int rowCount) throws DataGenerationException {
-        List<ColumnDefinition> columnDefinitions = template.getColumnDefinitions().stream()
-                .sorted(Comparator.comparing(ColumnDefinition::getSequenceNumber))
-                .collect(Collectors.toList());
+    public GenerationPlan compilePlan(Long templateId) throws TemplateNotFoundException, DataGenerationException {
+        Template template = templateRepository.findById(templateId)
+                .orElseThrow(() -> new TemplateNotFoundException("Template not found with ID: " + templateId));
         
-        return IntStream.range(0, rowCount)
-                .mapToObj(i -> generateRow(columnDefinitions))
-                .collect(Collectors.toList());
+        return generationPlanCompiler.compile(template);
     }
     
     /**
-     * Generate a single data row.
+     * Generate data and stream it to the given output stream.
+     * Rows are split into fixed-size chunks. The generation pool generates and
+     * serializes them concurrently (producer stage) into a bounded
+     * {@link ChunkRing}, from which the calling thread writes them to the
+     * stream in row order (consumer stage). At most {@code buffered-chunks}
+     * chunks are generated ahead of the writer: when the stream is slower,
+     * generation pauses, so memory usage depends on neither the row count nor
+     * the client's speed. Chunk vectors and output buffers are reused by later
+     * chunks rather than allocated per chunk. The stream is flushed but not closed.
+     * <p>
+     * Each chunk draws from its own random stream derived from the seed and the
+     * chunk index, so the same seed, chunk size and block size always produce the same output.
+     * Unique columns are the one place where chunks interact: the chunk that
+     * records a value first keeps it and later ones redraw. Seeded runs of plans
+     * with a unique column therefore generate one chunk at a time in chunk
+     * order, still overlapped with writing, so contested values always go to
+     * the earlier chunk. Unseeded runs stay fully parallel.
      * 
-     * @param columnDefinitions The column definitions
-     * @return Map of column name to generated value
-     * @throws DataGenerationException If generation fails
+     * @param plan The compiled generation plan
+     * @param rowCount The number of rows to generate
+     * @param outputFormat The output format (CSV, JSON, XML)
+     * @param seed Seed for reproducible output, or null for a random seed
+     * @param outputStream The target stream
+     * @throws DataGenerationException If generation or writing fails
      */
-    private Map<String, String> generateRow(List<ColumnDefinition> columnDefinitions) throws DataGenerationException {
-        Map<String, String> row = new LinkedHashMap<>();
-        
-        for (ColumnDefinition column : columnDefinitions) {
-            String value = generateValue(column);
-            row.put(column.getName(), value);
-        }
-        
-        return row;
+    public void generateData(GenerationPlan plan, int rowCount, Template.OutputFormat outputFormat, Long seed,
+            OutputStream outputStream) throws DataGenerationException {
+        generateData(plan, rowCount, outputFormat, seed, outputStream, null);
     }
     
     /**
-     * Generate a value for a single column.
+     * Generate data, stream it to the given output stream and record the
+     * values of a key column for tables that reference this one.
      * 
-     * @param column The column definition
-     * @return Generated value
-     * @throws DataGenerationException If generation fails
+     * @param plan The compiled generation plan
+     * @param rowCount The number of rows to generate
+     * @param outputFormat The output format (CSV, JSON, XML)
+     * @param seed Seed for reproducible output, or null for a random seed
+     * @param outputStream The target stream
+     * @param keys Receives the key column of every row, or null
+     * @throws DataGenerationException If generation or writing fails
+     * @see #generateData(GenerationPlan, int, Template.OutputFormat, Long, OutputStream)
      */
-    private String generateValue(ColumnDefinition column) throws DataGenerationException {
-        // Check if column should be null
-        if (column.getIsNullable() && Math.random() < column.getNullProbability()) {
-            return null;
-        }
+    public void generateData(GenerationPlan plan, int rowCount, Template.OutputFormat outputFormat, Long seed,
+            OutputStream outputStream, ParentKeys keys) throws DataGenerationException {
         
-        String type = column.getType();
-        Optional<DataGenerator> generatorOpt = dataTypeRegistry.getGenerator(type);
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        logger.info("Generating {} rows for template '{}' with seed {}", rowCount, plan.getTemplateName(), runSeed);
         
-        if (!generatorOpt.isPresent()) {
-            throw new DataGenerationException("No generator found for type: " + type);
+        RowWriterFactory rowWriterFactory = RowWriters.factory(outputFormat, plan, outputOptions);
+        int chunkCount = (int) ((rowCount + (long) chunkSize - 1) / chunkSize);
+        UniqueValueSet[] uniqueSets = createUniqueSets(plan);
+        // Buffers of written chunks, taken up again by later chunks
+        Queue<ChunkBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+        int capacity = Math.max(1, Math.min(blockSize, Math.min(chunkSize, rowCount)));
+        
+        // Unique values must be settled in chunk order for a seeded run to be reproducible
+        int producers = generationPool.getParallelism();
+        if (seed != null && hasUniqueColumn(uniqueSets)) {
+            logger.info("Template '{}' has unique columns and a seed: generating chunks in order, one at a time",
+                    plan.getTemplateName());
+            producers = 1;
         }
         
-        DataGenerator generator = generatorOpt.get();
+        ChunkRing<ChunkBuffer> ring = new ChunkRing<>(bufferedChunks, chunkCount, producers,
+                generationPool, chunkIndex -> {
+                    int firstRow = chunkIndex * chunkSize;
+                    int lastRow = Math.min(rowCount, firstRow + chunkSize);
+                    ChunkBuffer buffer = freeBuffers.poll();
+                    if (buffer == null) {
+                        buffer = new ChunkBuffer(plan, uniqueSets, capacity);
+                    }
+                    generateChunk(plan, rowWriterFactory, GenerationContext.forChunk(runSeed, chunkIndex), uniqueSets,
+                            keys, buffer, firstRow, lastRow);
+                    return buffer;
+                });
         
-        // Convert string constraints to appropriate types
-        Map<String, Object> typedConstraints = new HashMap<>();
-        for (Map.Entry<String, String> entry : column.getConstraints().entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
+        try (RowWriter rowWriter = rowWriterFactory.create(outputStream, 0)) {
+            ring.start();
+            rowWriter.writeHeader();
+            rowWriter.flush();
             
-            // Try to convert to appropriate type
-            try {
-                if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
-                    typedConstraints.put(key, Boolean.parseBoolean(value));
-                } else if (value.matches("\\d+")) {
-                    typedConstraints.put(key, Integer.parseInt(value));
-                } else if (value.matches("\\d+\\.\\d+")) {
-                    typedConstraints.put(key, Double.parseDouble(value));
-                } else {
-                    typedConstraints.put(key, value);
-                }
-            } catch (Exception e) {
-                // If parsing fails, use the original string value
-                typedConstraints.put(key, value);
+            // Chunks are written strictly in row order; a slow stream holds back the producers
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                ChunkBuffer buffer = ring.take();
+                rowWriter.appendChunk(buffer.output);
+                freeBuffers.add(buffer);
             }
+            
+            rowWriter.writeFooter();
+        } catch (IOException e) {
+            throw new DataGenerationException("Error writing output: " + e.getMessage(), e);
+        } finally {
+            ring.close();
         }
-        
-        try {
-            return generator.generate(typedConstraints);
-        } catch (Exception e) {
-            logger.error("Error generating value for column {}: {}", column.getName(), e.getMessage(), e);
-            throw new DataGenerationException("Error generating value for column " + column.getName() + ": " + e.getMessage());
+    }
+    
+    /**
+     * Create the run-wide sets of values already emitted by unique columns.
+     * 
+     * @param plan The compiled generation plan
+     * @return One set per unique column, null for the other columns
+     */
+    private UniqueValueSet[] createUniqueSets(GenerationPlan plan) {
+        List<ColumnPlan> columns = plan.getColumns();
+        UniqueValueSet[] uniqueSets = new UniqueValueSet[columns.size()];
+        for (int c = 0; c < uniqueSets.length; c++) {
+            if (columns.get(c).isUnique()) {
+                uniqueSets[c] = new UniqueValueSet();
+            }
         }
+        return uniqueSets;
+    }
+    
+    private static boolean hasUniqueColumn(UniqueValueSet[] uniqueSets) {
+        for (UniqueValueSet uniqueSet : uniqueSets) {
+            if (uniqueSet != null) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
-     * Format the generated data in the specified output format.
+     * Generate and serialize a contiguous range of rows into a chunk buffer.
+     * Rows are produced in blocks: each column of a block is generated in one
+     * call into the buffer's column vectors, then the block is written row by
+     * row. Columns that depend on others can read their vectors through the
+     * context.
      * 
-     * @param dataRows The generated data rows
-     * @param template The template
-     * @param outputFormat The output format
-     * @return Formatted data as byte array
-     * @throws DataGenerationException If formatting fails
+     * @param plan The compiled generation plan
+     * @param rowWriterFactory Creates the writer for this chunk
+     * @param context The generation context of this chunk
+     * @param uniqueSets Run-wide values of unique columns, null for the other columns
+     * @param keys Receives the key column of every row, or null
+     * @param buffer Receives the serialized rows; its previous content is discarded
+     * @param firstRow Index of the first row (inclusive)
+     * @param lastRow Index of the last row (exclusive)
+     * @throws DataGenerationException If generation fails
      */
-    private byte[] formatOutput(List<Map<String, String>> dataRows, Template template, Template.OutputFormat outputFormat) 
+    private void generateChunk(GenerationPlan plan, RowWriterFactory rowWriterFactory, GenerationContext context,
+            UniqueValueSet[] uniqueSets, ParentKeys keys, ChunkBuffer buffer, int firstRow, int lastRow)
             throws DataGenerationException {
         
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            switch (outputFormat) {
-                case CSV:
-                    formatCsv(dataRows, outputStream);
-                    break;
-                case JSON:
-                    formatJson(dataRows, outputStream);
-                    break;
-                case XML:
-                    formatXml(dataRows, template.getName(), outputStream);
-                    break;
-                default:
-                    throw new DataGenerationException("Unsupported output format: " + outputFormat);
+        List<ColumnPlan> columns = plan.getColumns();
+        ColumnVector[] vectors = buffer.vectors;
+        ColumnVector[] redraws = buffer.redraws;
+        int capacity = buffer.capacity;
+        buffer.output.reset();
+        
+        try (RowWriter rowWriter = rowWriterFactory.create(buffer.output, firstRow)) {
+            for (int blockStart = firstRow; blockStart < lastRow; blockStart += capacity) {
+                int count = Math.min(capacity, lastRow - blockStart);
+                context.startBlock(vectors, blockStart);
+                // Dependent columns come after the columns they read
+                for (int c : plan.getGenerationOrder()) {
+                    context.setRowIndex(blockStart);
+                    generateColumn(columns.get(c), context, vectors[c], count);
+                    if (uniqueSets[c] != null) {
+                        enforceUnique(columns.get(c), context, vectors[c], count, uniqueSets[c], redraws[c]);
+                    }
+                }
+                if (keys != null) {
+                    keys.record(blockStart, vectors[keys.getColumn()], count);
+                }
+                writeBlock(rowWriter, vectors, count);
             }
-            
-            return outputStream.toByteArray();
+            rowWriter.flush();
         } catch (IOException e) {
-            throw new DataGenerationException("Error formatting output: " + e.getMessage());
+            throw new DataGenerationException("Error writing output: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Format data as CSV.
+     * Generate one column of a block and mark its null rows.
      * 
-     * @param dataRows The data rows
-     * @param outputStream The output stream
-     * @throws IOException If writing fails
+     * @param column The compiled column plan
+     * @param context The generation context, positioned at the block's first row
+     * @param vector The column's vector
+     * @param count Number of rows in the block
+     * @throws DataGenerationException If generation fails
      */
-    private void formatCsv(List<Map<String, String>> dataRows, ByteArrayOutputStream outputStream) throws IOException {
-        if (dataRows.isEmpty()) {
-            return;
-        }
-        
-        // Write header
-        Set<String> headers = dataRows.get(0).keySet();
-        outputStream.write(String.join(",", headers).getBytes(StandardCharsets.UTF_8));
-        outputStream.write('\n');
+    private void generateColumn(ColumnPlan column, GenerationContext context, ColumnVector vector, int count)
+            throws DataGenerationException {
+        fillColumn(column, context, vector, count);
         
-        // Write rows
-        for (Map<String, String> row : dataRows) {
-            List<String> values = new ArrayList<>();
-            
-            for (String header : headers) {
-                String value = row.get(header);
-                
-                // Handle null values and escaping
-                if (value == null) {
-                    values.add("");
-                } else if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-                    // Escape quotes by doubling them and wrap in quotes
-                    String escaped = value.replace("\"", "\"\"");
-                    values.add("\"" + escaped + "\"");
-                } else {
-                    values.add(value);
-                }
-            }
-            
-            outputStream.write(String.join(",", values).getBytes(StandardCharsets.UTF_8));
-            outputStream.write('\n');
+        if (column.isNullable()) {
+            column.getNullStrategy().apply(vector, count, context);
         }
     }
     
     /**
-     * Format data as JSON.
+     * Redraw values of a unique column that were already emitted, by this or
+     * any other chunk of the run. Null rows are skipped and consume no value.
      * 
-     * @param dataRows The data rows
-     * @param outputStream The output stream
-     * @throws IOException If writing fails
+     * @param column The compiled column plan
+     * @param context The generation context, positioned at the block's first row
+     * @param vector The column's vector, already generated
+     * @param count Number of rows in the block
+     * @param uniqueSet Values emitted so far by the column
+     * @param redraw One-row vector receiving redrawn values
+     * @throws DataGenerationException If no fresh value is found within the allowed attempts
      */
-    private void formatJson(List<Map<String, String>> dataRows, ByteArrayOutputStream outputStream) throws IOException {
-        StringBuilder json = new StringBuilder();
-        json.append("[\n");
+    private void enforceUnique(ColumnPlan column, GenerationContext context, ColumnVector vector, int count,
+            UniqueValueSet uniqueSet, ColumnVector redraw) throws DataGenerationException {
+        long blockStart = context.getRowIndex();
         
-        for (int i = 0; i < dataRows.size(); i++) {
-            Map<String, String> row = dataRows.get(i);
-            json.append("  {\n");
-            
-            int j = 0;
-            for (Map.Entry<String, String> entry : row.entrySet()) {
-                json.append("    \"").append(entry.getKey()).append("\": ");
-                
-                if (entry.getValue() == null) {
-                    json.append("null");
-                } else {
-                    json.append("\"").append(escapeJsonString(entry.getValue())).append("\"");
-                }
-                
-                if (j < row.size() - 1) {
-                    json.append(",");
-                }
-                json.append("\n");
-                j++;
+        for (int i = 0; i < count; i++) {
+            if (vector.isNull(i) || uniqueSet.add(vector, i)) {
+                continue;
             }
             
-            json.append("  }");
-            if (i < dataRows.size() - 1) {
-                json.append(",");
-            }
-            json.append("\n");
+            int attempts = 1;
+            do {
+                if (attempts >= uniqueMaxAttempts) {
+                    throw new DataGenerationException("Could not generate a unique value for column "
+                            + column.getName() + " after " + attempts + " attempts: its value space is exhausted at "
+                            + uniqueSet.size() + " distinct values. Widen the column's range or generate fewer rows.");
+                }
+                context.setRowIndex(blockStart + i);
+                fillColumn(column, context, redraw, 1);
+                vector.copy(i, redraw, 0);
+                attempts++;
+            } while (!uniqueSet.add(vector, i));
         }
         
-        json.append("]\n");
-        outputStream.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        context.setRowIndex(blockStart);
     }
     
     /**
-     * Escape special characters in JSON string.
+     * Let the column's generator fill a vector.
      * 
-     * @param input The input string
-     * @return Escaped string
+     * @param column The compiled column plan
+     * @param context The generation context, positioned at the vector's first row
+     * @param vector The target vector
+     * @param count Number of rows to generate
+     * @throws DataGenerationException If the generator fails
      */
-    private String escapeJsonString(String input) {
-        return input.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\b", "\\b")
-                .replace("\f", "\\f")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+    private void fillColumn(ColumnPlan column, GenerationContext context, ColumnVector vector, int count)
+            throws DataGenerationException {
+        vector.reset(count);
+        
+        try {
+            column.getGenerator().generateBlock(column.getConstraints(), context, vector, count);
+        } catch (RuntimeException e) {
+            logger.error("Error generating value for column {}: {}", column.getName(), e.getMessage(), e);
+            throw new DataGenerationException("Error generating value for column " + column.getName() + ": " + e.getMessage());
+        }
     }
     
     /**
-     * Format data as XML.
+     * Hand a generated block to the writer row by row.
      * 
-     * @param dataRows The data rows
-     * @param rootElementName The name of the root element
-     * @param outputStream The output stream
+     * @param rowWriter The writer of the current chunk
+     * @param vectors One vector per column
+     * @param count Number of rows in the block
      * @throws IOException If writing fails
      */
-    private void formatXml(List<Map<String, String>> dataRows, String rootElementName, ByteArrayOutputStream outputStream) 
-            throws IOException {
-        
-        StringBuilder xml = new StringBuilder();
-        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        
-        // Sanitize root element name for XML
-        String sanitizedRootName = sanitizeXmlName(rootElementName);
-        
-        xml.append("<").append(sanitizedRootName).append(">\n");
-        
-        for (Map<String, String> row : dataRows) {
-            xml.append("  <row>\n");
-            
-            for (Map.Entry<String, String> entry : row.entrySet()) {
-                String columnName = sanitizeXmlName(entry.getKey());
-                xml.append("    <").append(columnName).append(">");
-                
-                if (entry.getValue() != null) {
-                    xml.append(escapeXmlString(entry.getValue()));
+    private void writeBlock(RowWriter rowWriter, ColumnVector[] vectors, int count) throws IOException {
+        for (int row = 0; row < count; row++) {
+            rowWriter.startRow();
+            for (int c = 0; c < vectors.length; c++) {
+                ColumnVector vector = vectors[c];
+                if (vector.isNull(row)) {
+                    rowWriter.writeNull(c);
+                    continue;
                 }
                 
-                xml.append("</").append(columnName).append(">\n");
+                switch (vector.getType()) {
+                    case LONG:
+                        rowWriter.writeLong(c, vector.getLongs()[row]);
+                        break;
+                    case DOUBLE:
+                        rowWriter.writeDouble(c, vector.getDoubles()[row]);
+                        break;
+                    case DATE:
+                        rowWriter.writeDate(c, vector.getLongs()[row]);
+                        break;
+                    case TIMESTAMP:
+                        rowWriter.writeTimestamp(c, vector.getLongs()[row]);
+                        break;
+                    case DECIMAL:
+                        rowWriter.writeDecimal(c, vector.getLongs()[row]);
+                        break;
+                    default:
+                        rowWriter.writeString(c, vector.getStrings()[row]);
+                }
             }
-            
-            xml.append("  </row>\n");
+            rowWriter.endRow();
         }
-        
-        xml.append("</").append(sanitizedRootName).append(">\n");
-        outputStream.write(xml.toString().getBytes(StandardCharsets.UTF_8));
     }
     
     /**
-     * Sanitize a string for use as an XML name.
-     * 
-     * @param name The input name
-     * @return Sanitized name
+     * Reusable buffers of one chunk: column vectors holding a block of rows in
+     * the plan's column order, one-row redraw vectors for unique columns and
+     * the chunk's serialized output. A run allocates at most one per chunk in
+     * flight; after a chunk is appended to the output its buffer is reset and
+     * filled again by a later chunk.
      */
-    private String sanitizeXmlName(String name) {
-        // XML names must start with a letter or underscore
-        String sanitized = name.replaceAll("[^a-zA-Z0-9_.-]", "_");
+    private static final class ChunkBuffer {
         
-        // If first character is not a letter or underscore, prepend underscore
-        if (!sanitized.matches("^[a-zA-Z_].*")) {
-            sanitized = "_" + sanitized;
-        }
+        private final int capacity;
+        private final ColumnVector[] vectors;
+        private final ColumnVector[] redraws;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
         
-        return sanitized;
-    }
-    
-    /**
-     * Escape special characters in XML string.
-     * 
-     * @param input The input string
-     * @return Escaped string
-     */
-    private String escapeXmlString(String input) {
-        return input.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&apos;");
+        private ChunkBuffer(GenerationPlan plan, UniqueValueSet[] uniqueSets, int capacity) {
+            List<ColumnPlan> columns = plan.getColumns();
+            this.capacity = capacity;
+            this.vectors = new ColumnVector[columns.size()];
+            this.redraws = new ColumnVector[columns.size()];
+            for (int c = 0; c < vectors.length; c++) {
+                vectors[c] = new ColumnVector(columns.get(c).getValueType(), capacity);
+                if (uniqueSets[c] != null) {
+                    redraws[c] = new ColumnVector(columns.get(c).getValueType(), 1);
+                }
+            }
+        }
     }
 }
@@ -1,5 +1,11 @@
 package com.example.tdg.service.generator;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -9,6 +15,12 @@ import java.util.Optional;
  */
 public interface DataGenerator {
     
+    /**
+     * Constraint key under which the plan compiler passes the index of every
+     * column by name to generators that declare {@link #getDependencies dependencies}.
+     */
+    String COLUMN_INDEXES = "column.indexes";
+    
     /**
      * Generates data based on provided constraints.
      * 
@@ -17,6 +29,193 @@ public interface DataGenerator {
      */
     String generate(Map<String, Object> constraints);
     
+    /**
+     * Generates data using the random stream and state of a generation context.
+     * Generators should draw all randomness from the context so that seeded
+     * runs are reproducible and parallel chunks never share a random source.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated data as string
+     */
+    default String generate(Map<String, Object> constraints, GenerationContext context) {
+        return generate(constraints);
+    }
+    
+    /**
+     * Resolves constraints once per column when a generation plan is compiled.
+     * The returned map is what the generator receives on every later call, so
+     * a generator can add derived entries (parsed bounds, formatters) instead of
+     * recomputing them per value. Generators must still accept unprepared
+     * constraints. The default returns the constraints unchanged.
+     * 
+     * @param constraints Typed constraints of the column
+     * @return The constraints to generate with
+     */
+    default Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        return constraints;
+    }
+    
+    /**
+     * Names of the other columns whose values in the same row this column is
+     * derived from, e.g. an email built from a name column. The plan compiler
+     * generates those columns first, rejects circular references, and passes
+     * their indexes under {@link #COLUMN_INDEXES} so the generator can read
+     * them through {@link GenerationContext#getColumn}. The default is none.
+     * 
+     * @param constraints Typed constraints of the column
+     * @return The referenced column names
+     */
+    default List<String> getDependencies(Map<String, Object> constraints) {
+        return Collections.emptyList();
+    }
+    
+    /**
+     * Whether values are computed from the row index alone, without random
+     * draws or other columns, so the value of any row can be recomputed
+     * instead of stored (e.g. sequences). The default is false.
+     * 
+     * @param constraints Typed constraints of the column
+     * @return True if the value of a row depends only on its index
+     */
+    default boolean isRowDerived(Map<String, Object> constraints) {
+        return false;
+    }
+    
+    /**
+     * Returns the native type of the values this generator produces for the given constraints.
+     * The engine calls the typed method matching this type ({@link #generateLong},
+     * {@link #generateDouble}, {@link #generateEpochDay}, {@link #generateEpochMillis}
+     * or {@link #generateDecimal}) instead of the string method. Generators that return anything other than
+     * {@link ValueType#STRING} must still produce string values parseable as that
+     * type (ISO yyyy-MM-dd for dates, ISO instants for timestamps).
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @return The value type, STRING by default
+     */
+    default ValueType getValueType(Map<String, Object> constraints) {
+        return ValueType.STRING;
+    }
+    
+    /**
+     * Returns the number of digits after the decimal point of a {@link ValueType#DECIMAL} column.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @return The scale, 0 to {@link FixedPoint#MAX_SCALE}; 0 by default
+     */
+    default int getScale(Map<String, Object> constraints) {
+        return 0;
+    }
+    
+    /**
+     * Generates a value for a {@link ValueType#LONG} column without creating a string.
+     * The default parses the string result; generators should override it.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated value
+     */
+    default long generateLong(Map<String, Object> constraints, GenerationContext context) {
+        return Long.parseLong(generate(constraints, context));
+    }
+    
+    /**
+     * Generates a value for a {@link ValueType#DOUBLE} column without creating a string.
+     * The default parses the string result; generators should override it.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated value
+     */
+    default double generateDouble(Map<String, Object> constraints, GenerationContext context) {
+        return Double.parseDouble(generate(constraints, context));
+    }
+    
+    /**
+     * Generates a value for a {@link ValueType#DATE} column without creating a string.
+     * The default parses the string result; generators should override it.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated date as days since 1970-01-01
+     */
+    default long generateEpochDay(Map<String, Object> constraints, GenerationContext context) {
+        return LocalDate.parse(generate(constraints, context)).toEpochDay();
+    }
+    
+    /**
+     * Generates a value for a {@link ValueType#TIMESTAMP} column without creating a string.
+     * The default parses the string result; generators should override it.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated instant as milliseconds since 1970-01-01T00:00:00Z
+     */
+    default long generateEpochMillis(Map<String, Object> constraints, GenerationContext context) {
+        return Instant.parse(generate(constraints, context)).toEpochMilli();
+    }
+    
+    /**
+     * Generates a value for a {@link ValueType#DECIMAL} column without creating a string.
+     * The default parses the string result; generators should override it.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @return Generated value, unscaled by {@link #getScale}
+     */
+    default long generateDecimal(Map<String, Object> constraints, GenerationContext context) {
+        return new BigDecimal(generate(constraints, context))
+                .setScale(getScale(constraints), RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Generates values for a block of consecutive rows of one column.
+     * The vector's type is the column's {@link #getValueType value type}; the
+     * context's row index is the index of the first row of the block, and row
+     * {@code i} of the vector lines up with row {@code getBlockRow() + i} of the
+     * context's other columns. Generators
+     * should override this to resolve constraints once and fill the vector's
+     * array in a single loop. The default calls the matching per-value method
+     * for each row, marking null string results as null.
+     * 
+     * @param constraints Map of constraint name to constraint value
+     * @param context The generation context of the current chunk
+     * @param vector The vector to fill, with all rows marked non-null
+     * @param count Number of rows to generate, at most the vector's capacity
+     */
+    default void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                               ColumnVector vector, int count) {
+        long firstRow = context.getRowIndex();
+        for (int i = 0; i < count; i++) {
+            context.setRowIndex(firstRow + i);
+            switch (vector.getType()) {
+                case LONG:
+                    vector.getLongs()[i] = generateLong(constraints, context);
+                    break;
+                case DOUBLE:
+                    vector.getDoubles()[i] = generateDouble(constraints, context);
+                    break;
+                case DATE:
+                    vector.getLongs()[i] = generateEpochDay(constraints, context);
+                    break;
+                case TIMESTAMP:
+                    vector.getLongs()[i] = generateEpochMillis(constraints, context);
+                    break;
+                case DECIMAL:
+                    vector.getLongs()[i] = generateDecimal(constraints, context);
+                    break;
+                default:
+                    String value = generate(constraints, context);
+                    vector.getStrings()[i] = value;
+                    if (value == null) {
+                        vector.setNull(i);
+                    }
+            }
+        }
+        context.setRowIndex(firstRow);
+    }
+    
     /**
      * Returns the type of data this generator produces.
      * This is used for registration and lookup in the generator registry.
@@ -1,19 +1,29 @@
 package com.example.tdg.service.generator.types;
 
 import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
 import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.IsoDates;
+import com.example.tdg.service.generator.ValueType;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Generates random dates within a specified range and format.
+ * With {@code afterColumn} naming an ISO date column, each date instead falls
+ * {@code minDaysAfter} (0) to {@code maxDaysAfter} (365) days after that
+ * column's date in the same row, e.g. an end date following a start date.
  */
 @Component
 @DataGeneratorType(
@@ -24,55 +34,105 @@ import java.util.concurrent.ThreadLocalRandom;
 public class DateGenerator extends AbstractDataGenerator {
     
     private static final String DEFAULT_FORMAT = "yyyy-MM-dd";
+    private static final DateTimeFormatter DEFAULT_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_FORMAT);
     private static final LocalDate DEFAULT_MIN_DATE = LocalDate.now().minusYears(5);
     private static final LocalDate DEFAULT_MAX_DATE = LocalDate.now();
     
+    // Constraint key under which prepareConstraints stores the resolved spec
+    private static final String SPEC_KEY = "date.spec";
+    
+    private static final int DEFAULT_MAX_DAYS_AFTER = 365;
+    
+    // Formatters by pattern; patterns come from templates, so the map stays small
+    private static final int MAX_CACHED_FORMATTERS = 256;
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    
     public DateGenerator() {
         super("date");
     }
     
     @Override
-    public String generate(Map<String, Object> constraints) {
-        // Parse min date
-        LocalDate minDate = parseDate(
-            getConstraint(constraints, "minDate", null),
-            DEFAULT_MIN_DATE
-        );
-        
-        // Parse max date
-        LocalDate maxDate = parseDate(
-            getConstraint(constraints, "maxDate", null),
-            DEFAULT_MAX_DATE
-        );
-        
-        // Ensure valid range
-        if (maxDate.isBefore(minDate)) {
-            maxDate = minDate;
-        }
-        
-        // Generate random date between min and max
-        long minDay = minDate.toEpochDay();
-        long maxDay = maxDate.toEpochDay();
-        long randomDay = ThreadLocalRandom.current().nextLong(minDay, maxDay + 1);
-        LocalDate randomDate = LocalDate.ofEpochDay(randomDay);
-        
-        // Format the date
-        String format = getConstraint(constraints, "format", DEFAULT_FORMAT);
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
-            return randomDate.format(formatter);
-        } catch (IllegalArgumentException e) {
-            // Fall back to default format if custom format is invalid
-            return randomDate.format(DateTimeFormatter.ofPattern(DEFAULT_FORMAT));
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(SPEC_KEY, DateSpec.resolve(this, constraints));
+        return prepared;
+    }
+    
+    @Override
+    public List<String> getDependencies(Map<String, Object> constraints) {
+        return columnReferences(constraints, "afterColumn");
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        DateSpec spec = spec(constraints);
+        return spec.format(spec.next(context.getRandom(), spec.after(context), context.getBlockRow()));
+    }
+    
+    @Override
+    public long generateEpochDay(Map<String, Object> constraints, GenerationContext context) {
+        DateSpec spec = spec(constraints);
+        return spec.next(context.getRandom(), spec.after(context), context.getBlockRow());
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        DateSpec spec = spec(constraints);
+        SplittableRandom random = context.getRandom();
+        
+        ColumnVector after = spec.after(context);
+        if (after != null) {
+            int firstRow = context.getBlockRow();
+            for (int i = 0; i < count; i++) {
+                long day = spec.next(random, after, firstRow + i);
+                if (vector.getType() == ValueType.DATE) {
+                    vector.getLongs()[i] = day;
+                } else {
+                    vector.getStrings()[i] = spec.format(day);
+                }
+            }
+            return;
+        }
+        
+        if (vector.getType() == ValueType.DATE) {
+            long[] days = vector.getLongs();
+            if (spec.sampler == null) {
+                long minDay = spec.minDay;
+                long dayBound = spec.maxDay + 1;
+                for (int i = 0; i < count; i++) {
+                    days[i] = random.nextLong(minDay, dayBound);
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    days[i] = spec.next(random);
+                }
+            }
+            return;
+        }
+        
+        String[] values = vector.getStrings();
+        for (int i = 0; i < count; i++) {
+            values[i] = spec.format(spec.next(random));
         }
     }
     
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        // Only ISO dates can be consumed as native dates; other formats stay text
+        return spec(constraints).iso ? ValueType.DATE : ValueType.STRING;
+    }
+    
     @Override
     public Map<String, String> getConstraintsMetadata() {
         Map<String, String> metadata = new HashMap<>();
         metadata.put("minDate", "string");
         metadata.put("maxDate", "string");
         metadata.put("format", "string");
+        metadata.put("afterColumn", "string");
+        metadata.put("minDaysAfter", "number");
+        metadata.put("maxDaysAfter", "number");
+        Distribution.describe(metadata);
         return metadata;
     }
     
@@ -90,7 +150,7 @@ public class DateGenerator extends AbstractDataGenerator {
         String minDateStr = getConstraint(constraints, "minDate", null);
         if (minDateStr != null) {
             try {
-                LocalDate.parse(minDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                LocalDate.parse(minDateStr, DEFAULT_FORMATTER);
             } catch (DateTimeParseException e) {
                 return Optional.of("Invalid minDate: Format should be yyyy-MM-dd");
             }
@@ -100,13 +160,56 @@ public class DateGenerator extends AbstractDataGenerator {
         String maxDateStr = getConstraint(constraints, "maxDate", null);
         if (maxDateStr != null) {
             try {
-                LocalDate.parse(maxDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                LocalDate.parse(maxDateStr, DEFAULT_FORMATTER);
             } catch (DateTimeParseException e) {
                 return Optional.of("Invalid maxDate: Format should be yyyy-MM-dd");
             }
         }
         
-        return Optional.empty();
+        // Validate gap after another column
+        Object minDaysAfter = constraints.get("minDaysAfter");
+        Object maxDaysAfter = constraints.get("maxDaysAfter");
+        if ((minDaysAfter != null && !(minDaysAfter instanceof Integer))
+                || (maxDaysAfter != null && !(maxDaysAfter instanceof Integer))) {
+            return Optional.of("minDaysAfter and maxDaysAfter must be non-negative whole numbers");
+        }
+        int minGap = minDaysAfter != null ? (Integer) minDaysAfter : 0;
+        int maxGap = maxDaysAfter != null ? (Integer) maxDaysAfter : Math.max(minGap, DEFAULT_MAX_DAYS_AFTER);
+        if (minGap > maxGap) {
+            return Optional.of("minDaysAfter cannot be greater than maxDaysAfter");
+        }
+        
+        return Distribution.validate(constraints);
+    }
+    
+    /**
+     * Get the spec stored by {@link #prepareConstraints}, resolving it on the
+     * spot for callers that pass unprepared constraints.
+     */
+    private DateSpec spec(Map<String, Object> constraints) {
+        Object spec = constraints.get(SPEC_KEY);
+        return spec instanceof DateSpec ? (DateSpec) spec : DateSpec.resolve(this, constraints);
+    }
+    
+    /**
+     * Get the formatter for a pattern, falling back to ISO if the pattern is invalid.
+     */
+    private static DateTimeFormatter formatter(String format) {
+        DateTimeFormatter formatter = FORMATTERS.get(format);
+        if (formatter != null) {
+            return formatter;
+        }
+        
+        try {
+            formatter = DateTimeFormatter.ofPattern(format);
+        } catch (IllegalArgumentException e) {
+            // Fall back to default format if custom format is invalid
+            formatter = DEFAULT_FORMATTER;
+        }
+        if (FORMATTERS.size() < MAX_CACHED_FORMATTERS) {
+            FORMATTERS.putIfAbsent(format, formatter);
+        }
+        return formatter;
     }
     
     private LocalDate parseDate(String dateStr, LocalDate defaultValue) {
@@ -115,9 +218,88 @@ public class DateGenerator extends AbstractDataGenerator {
         }
         
         try {
-            return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            return LocalDate.parse(dateStr, DEFAULT_FORMATTER);
         } catch (DateTimeParseException e) {
             return defaultValue;
         }
     }
+    
+    /**
+     * Date range and output format of a column, resolved from its constraints.
+     */
+    private static final class DateSpec {
+        
+        final long minDay;
+        final long maxDay;
+        final boolean iso;
+        final DateTimeFormatter formatter;
+        
+        // Draws day offsets from minDay; null for the uniform default
+        final Distribution.Sampler sampler;
+        
+        // Index of the column this date follows, -1 if independent; gap in days
+        final int afterColumn;
+        final long minGap;
+        final long maxGap;
+        
+        private DateSpec(long minDay, long maxDay, String format, Distribution distribution,
+                         int afterColumn, long minGap, long maxGap) {
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+            this.iso = DEFAULT_FORMAT.equals(format);
+            this.formatter = iso ? null : formatter(format);
+            this.sampler = distribution.isUniform() ? null : distribution.sampler(maxDay - minDay + 1);
+            this.afterColumn = afterColumn;
+            this.minGap = minGap;
+            this.maxGap = maxGap;
+        }
+        
+        static DateSpec resolve(DateGenerator generator, Map<String, Object> constraints) {
+            long minDay = generator.parseDate(
+                generator.getConstraint(constraints, "minDate", null), DEFAULT_MIN_DATE).toEpochDay();
+            long maxDay = generator.parseDate(
+                generator.getConstraint(constraints, "maxDate", null), DEFAULT_MAX_DATE).toEpochDay();
+            
+            Object minDaysAfter = constraints.get("minDaysAfter");
+            Object maxDaysAfter = constraints.get("maxDaysAfter");
+            long minGap = minDaysAfter instanceof Integer ? Math.max(0, (Integer) minDaysAfter) : 0;
+            long maxGap = maxDaysAfter instanceof Integer ? (Integer) maxDaysAfter : DEFAULT_MAX_DAYS_AFTER;
+            
+            // Ensure valid range
+            return new DateSpec(minDay, Math.max(minDay, maxDay),
+                generator.getConstraint(constraints, "format", DEFAULT_FORMAT),
+                Distribution.fromConstraints(constraints),
+                generator.columnIndex(constraints, "afterColumn"), minGap, Math.max(minGap, maxGap));
+        }
+        
+        long next(SplittableRandom random) {
+            return sampler != null ? minDay + sampler.next(random) : random.nextLong(minDay, maxDay + 1);
+        }
+        
+        /**
+         * Generate a date following the given column's date in a row, or an
+         * independent one if there is no such date.
+         */
+        long next(SplittableRandom random, ColumnVector after, int row) {
+            if (after == null || after.isNull(row)) {
+                return next(random);
+            }
+            return after.getLongs()[row] + random.nextLong(minGap, maxGap + 1);
+        }
+        
+        /**
+         * @return The native date column this date follows, or null if there is none
+         */
+        ColumnVector after(GenerationContext context) {
+            ColumnVector column = afterColumn >= 0 ? context.getColumn(afterColumn) : null;
+            return column != null && column.getType() == ValueType.DATE ? column : null;
+        }
+        
+        /**
+         * Format a date, writing ISO dates straight into a char buffer without a formatter.
+         */
+        String format(long epochDay) {
+            return iso ? IsoDates.toString(epochDay) : LocalDate.ofEpochDay(epochDay).format(formatter);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates fixed-point decimals within a range, with {@code precision}
+ * digits after the point (2 by default).
+ */
+@Component
+@DataGeneratorType(
+    category = "Numeric",
+    displayName = "Decimal",
+    description = "Generates decimal numbers with a fixed number of fraction digits"
+)
+public class DecimalGenerator extends AbstractNumericGenerator {
+    
+    public DecimalGenerator() {
+        super("decimal", true, 2, 0, 1000, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+}
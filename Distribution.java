@@ -0,0 +1,362 @@
+package com.example.tdg.service.generator;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Value distribution of a column, configured through the {@code distribution}
+ * constraint and its parameters. Generators apply it to a domain of
+ * {@code size} outcomes (dictionary entries, days in a date range, integers in
+ * a numeric range) through a {@link Sampler} built once per column plan.
+ * <p>
+ * Supported shapes, with positions expressed as a fraction of the domain:
+ * <ul>
+ * <li>{@code uniform} - every outcome equally likely (default)</li>
+ * <li>{@code normal} - bell curve around {@code mean} (0.5) with {@code stdDev} (0.15)</li>
+ * <li>{@code zipf} - outcome {@code k} weighted {@code 1/(k+1)^zipfExponent} (1.0),
+ * so the first outcomes are hot</li>
+ * <li>{@code exponential} - density {@code exp(-rate * x)} with {@code rate} (5.0)</li>
+ * <li>{@code weights} - comma-separated {@code weights}, one per equal-width
+ * slice of the domain (one per value for dictionaries of the same size)</li>
+ * </ul>
+ * Domains up to {@value #MAX_TABLE_SIZE} outcomes get an exact alias table.
+ * Larger ones are cut into that many slices, a slice is drawn from the table
+ * and an outcome uniformly within it, so a sample always costs O(1). Shapes
+ * defined on the domain fraction use equal slices. Zipf is defined on ranks
+ * and concentrates its mass in the first ones, so it keeps the first
+ * {@value #ZIPF_HEAD_SIZE} ranks as exact single-outcome slices and covers the
+ * remaining ranks with log-spaced slices, across which the weight changes by
+ * well under one percent.
+ */
+public final class Distribution {
+    
+    public static final String KEY = "distribution";
+    
+    // Upper bound on alias table entries, so a column plan stays under ~1.3 MB
+    static final int MAX_TABLE_SIZE = 65_536;
+    
+    // Zipf ranks kept exact on large domains; the rest of the table slices the tail
+    static final int ZIPF_HEAD_SIZE = MAX_TABLE_SIZE / 2;
+    
+    private static final Distribution UNIFORM = new Distribution(Shape.UNIFORM, 0, 0, 0, 0, null);
+    
+    enum Shape {
+        UNIFORM, NORMAL, ZIPF, EXPONENTIAL, WEIGHTS
+    }
+    
+    private final Shape shape;
+    private final double mean;
+    private final double stdDev;
+    private final double zipfExponent;
+    private final double rate;
+    private final double[] weights;
+    
+    private Distribution(Shape shape, double mean, double stdDev, double zipfExponent, double rate,
+                         double[] weights) {
+        this.shape = shape;
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.zipfExponent = zipfExponent;
+        this.rate = rate;
+        this.weights = weights;
+    }
+    
+    /**
+     * Resolve the distribution configured in a column's constraints.
+     * 
+     * @param constraints The column constraints
+     * @return The distribution; uniform if none or an unknown one is configured
+     */
+    public static Distribution fromConstraints(Map<String, Object> constraints) {
+        Shape shape = shape(constraints);
+        if (shape == null || shape == Shape.UNIFORM) {
+            return UNIFORM;
+        }
+        
+        double[] weights = shape == Shape.WEIGHTS ? parseWeights(constraints.get("weights")) : null;
+        if (shape == Shape.WEIGHTS && weights == null) {
+            return UNIFORM;
+        }
+        return new Distribution(shape,
+                number(constraints, "mean", 0.5),
+                Math.max(1e-6, number(constraints, "stdDev", 0.15)),
+                Math.max(0, number(constraints, "zipfExponent", 1.0)),
+                Math.max(0, number(constraints, "rate", 5.0)),
+                weights);
+    }
+    
+    /**
+     * @return True if the constraints configure a distribution other than uniform
+     */
+    public static boolean isConfigured(Map<String, Object> constraints) {
+        Shape shape = shape(constraints);
+        return shape != null && shape != Shape.UNIFORM;
+    }
+    
+    /**
+     * Add the distribution constraints to a generator's metadata.
+     * 
+     * @param metadata The generator's constraint metadata
+     */
+    public static void describe(Map<String, String> metadata) {
+        metadata.put(KEY, "select:uniform,normal,zipf,exponential,weights");
+        metadata.put("mean", "number");
+        metadata.put("stdDev", "number");
+        metadata.put("zipfExponent", "number");
+        metadata.put("rate", "number");
+        metadata.put("weights", "string");
+    }
+    
+    /**
+     * Validate the distribution constraints.
+     * 
+     * @param constraints The column constraints
+     * @return An error message, or empty if the constraints are valid
+     */
+    public static Optional<String> validate(Map<String, Object> constraints) {
+        Object value = constraints.get(KEY);
+        if (value == null) {
+            return Optional.empty();
+        }
+        
+        Shape shape = shape(constraints);
+        if (shape == null) {
+            return Optional.of("Invalid distribution: must be uniform, normal, zipf, exponential or weights");
+        }
+        if (shape == Shape.WEIGHTS && parseWeights(constraints.get("weights")) == null) {
+            return Optional.of("Invalid weights: expected comma-separated non-negative numbers, not all zero");
+        }
+        if (shape == Shape.NORMAL && number(constraints, "stdDev", 0.15) <= 0) {
+            return Optional.of("stdDev must be positive");
+        }
+        return Optional.empty();
+    }
+    
+    public boolean isUniform() {
+        return shape == Shape.UNIFORM;
+    }
+    
+    /**
+     * Build a sampler over the outcomes {@code 0 .. size-1}.
+     * 
+     * @param size Number of outcomes, at least 1
+     * @return The sampler
+     */
+    public Sampler sampler(long size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Distribution domain must not be empty");
+        }
+        if (shape == Shape.UNIFORM) {
+            return new Sampler(size, 0, null, null);
+        }
+        
+        int slices;
+        long[] starts = null;
+        if (shape == Shape.WEIGHTS) {
+            slices = (int) Math.min(weights.length, size);
+        } else if (shape == Shape.ZIPF && size > MAX_TABLE_SIZE) {
+            slices = MAX_TABLE_SIZE;
+            starts = zipfSliceStarts(size);
+        } else {
+            slices = (int) Math.min(MAX_TABLE_SIZE, size);
+        }
+        
+        double[] sliceWeights = new double[slices];
+        for (int i = 0; i < slices; i++) {
+            long low = starts != null ? starts[i] : Sampler.sliceStart(i, slices, size);
+            long high = starts != null ? starts[i + 1] : Sampler.sliceStart(i + 1, slices, size);
+            sliceWeights[i] = sliceWeight(i, low, high, size);
+        }
+        
+        // A shape can underflow to zero everywhere (e.g. a far-away mean); fall back to uniform
+        for (double weight : sliceWeights) {
+            if (weight > 0) {
+                return new Sampler(size, slices, new AliasTable(sliceWeights), starts);
+            }
+        }
+        return new Sampler(size, 0, null, null);
+    }
+    
+    /**
+     * Slice boundaries for zipf over a large domain: one slice per rank up to
+     * {@link #ZIPF_HEAD_SIZE}, then slices whose bounds grow geometrically up
+     * to {@code size}. Every slice holds at least one outcome.
+     * 
+     * @return {@link #MAX_TABLE_SIZE} + 1 ascending slice starts, ending with {@code size}
+     */
+    private static long[] zipfSliceStarts(long size) {
+        long[] starts = new long[MAX_TABLE_SIZE + 1];
+        for (int i = 0; i <= ZIPF_HEAD_SIZE; i++) {
+            starts[i] = i;
+        }
+        
+        // The tail [head, size) gets tail slices: one outcome each, plus a geometric share of the surplus
+        int tail = MAX_TABLE_SIZE - ZIPF_HEAD_SIZE;
+        long surplus = size - ZIPF_HEAD_SIZE - tail;
+        double growth = Math.log((double) size / ZIPF_HEAD_SIZE);
+        for (int j = 1; j < tail; j++) {
+            double share = Math.expm1(growth * j / tail) / Math.expm1(growth);
+            starts[ZIPF_HEAD_SIZE + j] = ZIPF_HEAD_SIZE + j + (long) (surplus * share);
+        }
+        starts[MAX_TABLE_SIZE] = size;
+        return starts;
+    }
+    
+    /**
+     * Probability mass of one slice of outcomes [low, high), up to a common factor.
+     */
+    private double sliceWeight(int slice, long low, long high, long size) {
+        double center = (low + high) / 2.0 / size;
+        double width = high - low;
+        
+        switch (shape) {
+            case NORMAL:
+                double z = (center - mean) / stdDev;
+                return Math.exp(-0.5 * z * z) * width;
+            case EXPONENTIAL:
+                return Math.exp(-rate * center) * width;
+            case ZIPF:
+                if (width == 1) {
+                    return Math.pow(low + 1, -zipfExponent);
+                }
+                // Sum of (k+1)^-s over the slice, approximated by the integral over [low+0.5, high+0.5)
+                double a = low + 0.5;
+                double b = high + 0.5;
+                if (Math.abs(zipfExponent - 1.0) < 1e-9) {
+                    return Math.log(b / a);
+                }
+                double t = 1.0 - zipfExponent;
+                return (Math.pow(b, t) - Math.pow(a, t)) / t;
+            case WEIGHTS:
+                return weights[slice];
+            default:
+                return width;
+        }
+    }
+    
+    private static Shape shape(Map<String, Object> constraints) {
+        Object value = constraints.get(KEY);
+        if (value == null) {
+            return Shape.UNIFORM;
+        }
+        try {
+            return Shape.valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Parse weights given as a comma-separated string or a collection of numbers.
+     * 
+     * @return The weights, or null if they are missing, negative or all zero
+     */
+    static double[] parseWeights(Object value) {
+        if (value == null) {
+            return null;
+        }
+        
+        Object[] items;
+        if (value instanceof Collection) {
+            items = ((Collection<?>) value).toArray();
+        } else {
+            items = value.toString().split(",");
+        }
+        if (items.length == 0) {
+            return null;
+        }
+        
+        double[] weights = new double[items.length];
+        double total = 0;
+        for (int i = 0; i < items.length; i++) {
+            try {
+                weights[i] = Double.parseDouble(items[i].toString().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (weights[i] < 0 || Double.isNaN(weights[i]) || Double.isInfinite(weights[i])) {
+                return null;
+            }
+            total += weights[i];
+        }
+        return total > 0 ? weights : null;
+    }
+    
+    private static double number(Map<String, Object> constraints, String key, double defaultValue) {
+        Object value = constraints.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * Draws outcomes {@code 0 .. size-1} of a distribution. Immutable, so one
+     * instance per column plan is shared by all generation threads.
+     */
+    public static final class Sampler {
+        
+        private final long size;
+        private final int slices;
+        private final AliasTable table;
+        
+        // Slice boundaries when slices are not equal, otherwise null
+        private final long[] starts;
+        
+        Sampler(long size, int slices, AliasTable table, long[] starts) {
+            this.size = size;
+            this.slices = slices;
+            this.table = table;
+            this.starts = starts;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        /**
+         * @param random The random stream
+         * @return An outcome in [0, size)
+         */
+        public long next(SplittableRandom random) {
+            if (table == null) {
+                return random.nextLong(size);
+            }
+            int slice = table.sample(random);
+            if (slices == size) {
+                return slice;
+            }
+            long low = starts != null ? starts[slice] : sliceStart(slice, slices, size);
+            long high = starts != null ? starts[slice + 1] : sliceStart(slice + 1, slices, size);
+            return high - low > 1 ? low + random.nextLong(high - low) : low;
+        }
+        
+        /**
+         * @param random The random stream
+         * @return An outcome in [0, size) as an int, for domains that fit in an array
+         */
+        public int nextIndex(SplittableRandom random) {
+            return (int) next(random);
+        }
+        
+        /**
+         * First outcome of a slice when {@code size} outcomes are split into
+         * {@code slices} slices whose sizes differ by at most one.
+         */
+        static long sliceStart(int slice, int slices, long size) {
+            long base = size / slices;
+            long remainder = size % slices;
+            return slice * base + Math.min(slice, remainder);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tdg.service.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that samplers over domains larger than an exact alias table keep
+ * the head mass of their distribution.
+ */
+class DistributionTest {
+    
+    private static final int DRAWS = 1_000_000;
+    
+    // Euler-Mascheroni constant, for harmonic numbers of large domains
+    private static final double GAMMA = 0.5772156649015329;
+    
+    @Test
+    void zipfKeepsTopTenMassOnBillionOutcomes() {
+        long size = 1_000_000_000L;
+        double expected = harmonic(10) / harmonic(size);
+        
+        assertEquals(expected, massBelow(zipf(1.0), size, 10), 0.005);
+    }
+    
+    @Test
+    void zipfKeepsHottestParentShareOnMillionParents() {
+        long size = 1_000_000L;
+        double expected = 1 / harmonic(size);
+        
+        assertEquals(expected, massBelow(zipf(1.0), size, 1), 0.003);
+    }
+    
+    @Test
+    void zipfKeepsTailMassBeyondExactRanks() {
+        long size = 1_000_000_000L;
+        long rank = 10 * Distribution.ZIPF_HEAD_SIZE;
+        double expected = harmonic(rank) / harmonic(size);
+        
+        assertEquals(expected, massBelow(zipf(1.0), size, rank), 0.005);
+    }
+    
+    @Test
+    void exponentialKeepsHeadMassOnBillionOutcomes() {
+        Map<String, Object> constraints = new HashMap<>();
+        constraints.put(Distribution.KEY, "exponential");
+        constraints.put("rate", 5.0);
+        long size = 1_000_000_000L;
+        double expected = -Math.expm1(-5.0 * 0.01) / -Math.expm1(-5.0);
+        
+        assertEquals(expected, massBelow(Distribution.fromConstraints(constraints), size, size / 100), 0.002);
+    }
+    
+    private static Distribution zipf(double exponent) {
+        Map<String, Object> constraints = new HashMap<>();
+        constraints.put(Distribution.KEY, "zipf");
+        constraints.put("zipfExponent", exponent);
+        return Distribution.fromConstraints(constraints);
+    }
+    
+    /**
+     * Share of draws below the given outcome, checking every draw is in the domain.
+     */
+    private static double massBelow(Distribution distribution, long size, long bound) {
+        Distribution.Sampler sampler = distribution.sampler(size);
+        SplittableRandom random = new SplittableRandom(42);
+        int hits = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            long outcome = sampler.next(random);
+            assertTrue(outcome >= 0 && outcome < size, "Outcome out of range: " + outcome);
+            if (outcome < bound) {
+                hits++;
+            }
+        }
+        return (double) hits / DRAWS;
+    }
+    
+    /**
+     * Harmonic number H(n), summed exactly up to a million terms, asymptotically beyond.
+     */
+    private static double harmonic(long n) {
+        if (n <= 1_000_000) {
+            double sum = 0;
+            for (long k = n; k >= 1; k--) {
+                sum += 1.0 / k;
+            }
+            return sum;
+        }
+        return Math.log(n) + GAMMA + 1.0 / (2 * n) - 1.0 / (12.0 * n * n);
+    }
+}
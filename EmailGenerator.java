@@ -0,0 +1,179 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDictionaryGenerator;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.FakerCorpus;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.ValueDictionary;
+import com.example.tdg.service.generator.ValueType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates email addresses of the form first.last[NN]@domain.
+ * Local parts come from the Java Faker name lists, lowercased once at startup;
+ * domains are weighted by rough mailbox market share unless a {@code domain}
+ * constraint fixes one. With {@code firstNameColumn} and/or
+ * {@code lastNameColumn} the names are taken from those text columns of the
+ * same row instead, so the address matches the person.
+ */
+@Component
+@DataGeneratorType(
+    category = "Contact",
+    displayName = "Email",
+    description = "Generates email addresses from common names and mail domains"
+)
+public class EmailGenerator extends AbstractDictionaryGenerator {
+    
+    // Mail domain and relative weight
+    private static final String[][] DOMAINS = {
+        {"gmail.com", "40"}, {"yahoo.com", "15"}, {"outlook.com", "10"}, {"hotmail.com", "10"},
+        {"icloud.com", "8"}, {"aol.com", "4"}, {"protonmail.com", "3"}, {"example.com", "10"}
+    };
+    
+    // Share of addresses that get a two-digit suffix after the last name
+    private static final double NUMBER_SUFFIX_RATIO = 0.3;
+    
+    // Constraint key under which prepareConstraints stores the name column indexes
+    private static final String SOURCES_KEY = "email.sources";
+    
+    private String[] firstNames;
+    private String[] lastNames;
+    
+    public EmailGenerator() {
+        super("email");
+    }
+    
+    @Override
+    protected ValueDictionary loadDictionary() {
+        firstNames = toLocalParts(FakerCorpus.load("name.male_first_name", "name.female_first_name"));
+        lastNames = toLocalParts(FakerCorpus.load("name.last_name"));
+        
+        String[] domains = new String[DOMAINS.length];
+        double[] weights = new double[DOMAINS.length];
+        for (int i = 0; i < DOMAINS.length; i++) {
+            domains[i] = DOMAINS[i][0];
+            weights[i] = Double.parseDouble(DOMAINS[i][1]);
+        }
+        return ValueDictionary.weighted(domains, weights);
+    }
+    
+    @Override
+    public List<String> getDependencies(Map<String, Object> constraints) {
+        return columnReferences(constraints, "firstNameColumn", "lastNameColumn");
+    }
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(super.prepareConstraints(constraints));
+        prepared.put(SOURCES_KEY, sources(constraints));
+        return prepared;
+    }
+    
+    @Override
+    protected String render(Map<String, Object> constraints, int index, SplittableRandom random) {
+        return render(constraints, index, random, null, null, 0);
+    }
+    
+    @Override
+    protected String render(Map<String, Object> constraints, int index, GenerationContext context, int row) {
+        int[] sources = sources(constraints);
+        ColumnVector firstColumn = sources[0] >= 0 ? context.getColumn(sources[0]) : null;
+        ColumnVector lastColumn = sources[1] >= 0 ? context.getColumn(sources[1]) : null;
+        return render(constraints, index, context.getRandom(), firstColumn, lastColumn, row);
+    }
+    
+    /**
+     * Build an address, taking names from the given columns where they have a value.
+     */
+    private String render(Map<String, Object> constraints, int index, SplittableRandom random,
+                          ColumnVector firstColumn, ColumnVector lastColumn, int row) {
+        String first = localPart(firstColumn, row);
+        if (first == null) {
+            first = firstNames[random.nextInt(firstNames.length)];
+        }
+        String last = localPart(lastColumn, row);
+        if (last == null) {
+            last = lastNames[random.nextInt(lastNames.length)];
+        }
+        String domain = getConstraint(constraints, "domain", null);
+        if (domain == null || domain.isEmpty()) {
+            domain = getDictionary().get(index);
+        }
+        
+        StringBuilder sb = new StringBuilder(first.length() + last.length() + domain.length() + 4);
+        sb.append(first).append('.').append(last);
+        if (random.nextDouble() < NUMBER_SUFFIX_RATIO) {
+            int number = random.nextInt(100);
+            sb.append((char) ('0' + number / 10)).append((char) ('0' + number % 10));
+        }
+        return sb.append('@').append(domain).toString();
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = super.getConstraintsMetadata();
+        metadata.put("domain", "string");
+        metadata.put("firstNameColumn", "string");
+        metadata.put("lastNameColumn", "string");
+        return metadata;
+    }
+    
+    /**
+     * Get the name column indexes stored by {@link #prepareConstraints}, or
+     * resolve them for callers that pass unprepared constraints.
+     * 
+     * @return First and last name column indexes, -1 where none is configured
+     */
+    private int[] sources(Map<String, Object> constraints) {
+        Object sources = constraints.get(SOURCES_KEY);
+        if (sources instanceof int[]) {
+            return (int[]) sources;
+        }
+        return new int[] {columnIndex(constraints, "firstNameColumn"), columnIndex(constraints, "lastNameColumn")};
+    }
+    
+    /**
+     * Local part derived from a text column's value in the given row.
+     * 
+     * @return The local part, or null if there is no usable value
+     */
+    private static String localPart(ColumnVector column, int row) {
+        if (column == null || column.getType() != ValueType.STRING || column.isNull(row)) {
+            return null;
+        }
+        String value = column.getStrings()[row];
+        String part = value != null ? toLocalPart(value) : "";
+        return part.isEmpty() ? null : part;
+    }
+    
+    /**
+     * Lowercase names and drop characters that do not belong in a local part.
+     */
+    private static String[] toLocalParts(String[] names) {
+        String[] parts = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String part = toLocalPart(names[i]);
+            parts[i] = !part.isEmpty() ? part : "user";
+        }
+        return parts;
+    }
+    
+    private static String toLocalPart(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int k = 0; k < lower.length(); k++) {
+            char c = lower.charAt(k);
+            if (c >= 'a' && c <= 'z') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.ValueType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Generates instants as milliseconds since the Unix epoch.
+ */
+@Component
+@DataGeneratorType(
+    category = "DateTime",
+    displayName = "Epoch Millis",
+    description = "Generates Unix timestamps in milliseconds, randomly or as an increasing sequence"
+)
+public class EpochMillisGenerator extends AbstractTimestampGenerator {
+    
+    public EpochMillisGenerator() {
+        super("epochMillis");
+    }
+    
+    @Override
+    String format(TimestampSpec spec, long epochMillis) {
+        return Long.toString(epochMillis);
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        return ValueType.LONG;
+    }
+}
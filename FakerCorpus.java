@@ -0,0 +1,50 @@
+package com.example.tdg.service.generator;
+
+import com.github.javafaker.Faker;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Read-only access to the word lists bundled with Java Faker.
+ * Generators copy the lists they need into plain arrays once at startup and
+ * sample them by index, instead of resolving YAML keys and expressions through
+ * a Faker instance for every value.
+ */
+public final class FakerCorpus {
+    
+    private static final Faker FAKER = new Faker(Locale.ENGLISH);
+    
+    private FakerCorpus() {
+    }
+    
+    /**
+     * Load one or more word lists into a single array of distinct values.
+     * 
+     * @param keys Dotted Faker keys such as {@code name.male_first_name}
+     * @return The values, in corpus order, with abbreviation dots removed
+     * @throws IllegalStateException If a key is missing or is not a list
+     */
+    public static String[] load(String... keys) {
+        Set<String> values = new LinkedHashSet<>();
+        for (String key : keys) {
+            Object list = FAKER.fakeValuesService().fetchObject(key);
+            if (!(list instanceof Collection)) {
+                throw new IllegalStateException("Faker corpus has no list under '" + key + "'");
+            }
+            for (Object value : (Collection<?>) list) {
+                String text = value.toString().replace(".", "").trim();
+                if (!text.isEmpty()) {
+                    values.add(text);
+                }
+            }
+        }
+        
+        if (values.isEmpty()) {
+            throw new IllegalStateException("Faker corpus lists are empty: " + String.join(", ", keys));
+        }
+        return values.toArray(new String[0]);
+    }
+}
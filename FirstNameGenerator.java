@@ -1,15 +1,27 @@
 package com.example.tdg.service.generator.types;
 
 import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
 import com.example.tdg.service.generator.DataGeneratorType;
-import com.github.javafaker.Faker;
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.FakerCorpus;
+import com.example.tdg.service.generator.GenerationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
 
 /**
- * Generates random first names using Java Faker.
+ * Generates random first names from the Java Faker name corpus.
+ * The male and female lists are loaded into arrays once at startup and
+ * sampled by index; the gender constraint picks the list, and an optional
+ * distribution skews which names are drawn.
  */
 @Component
 @DataGeneratorType(
@@ -19,24 +31,65 @@ import java.util.Map;
 )
 public class FirstNameGenerator extends AbstractDataGenerator {
     
-    private final Faker faker;
+    private static final Logger logger = LoggerFactory.getLogger(FirstNameGenerator.class);
+    
+    // Constraint keys under which prepareConstraints stores the selected names and their sampler
+    private static final String NAMES_KEY = "firstName.names";
+    private static final String SAMPLER_KEY = "firstName.sampler";
+    
+    private String[] maleNames;
+    private String[] femaleNames;
+    private String[] allNames;
     
     public FirstNameGenerator() {
         super("firstName");
-        this.faker = new Faker();
+    }
+    
+    /**
+     * Load the name lists once.
+     */
+    @PostConstruct
+    public void init() {
+        maleNames = FakerCorpus.load("name.male_first_name");
+        femaleNames = FakerCorpus.load("name.female_first_name");
+        allNames = FakerCorpus.load("name.male_first_name", "name.female_first_name");
+        logger.info("Loaded {} male and {} female first names", maleNames.length, femaleNames.length);
     }
     
     @Override
-    public String generate(Map<String, Object> constraints) {
-        String gender = getConstraint(constraints, "gender", "any");
-        
-        switch (gender.toLowerCase()) {
-            case "male":
-                return faker.name().firstName().replace(".", ""); // Avoid abbreviations
-            case "female":
-                return faker.name().firstName().replace(".", "");
-            default:
-                return faker.name().firstName().replace(".", "");
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        String[] names = names(constraints);
+        prepared.put(NAMES_KEY, names);
+        if (Distribution.isConfigured(constraints)) {
+            prepared.put(SAMPLER_KEY, Distribution.fromConstraints(constraints).sampler(names.length));
+        }
+        return prepared;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        String[] names = names(constraints);
+        Distribution.Sampler sampler = sampler(constraints, names);
+        SplittableRandom random = context.getRandom();
+        return names[sampler != null ? sampler.nextIndex(random) : random.nextInt(names.length)];
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        String[] names = names(constraints);
+        Distribution.Sampler sampler = sampler(constraints, names);
+        SplittableRandom random = context.getRandom();
+        String[] values = vector.getStrings();
+        if (sampler == null) {
+            for (int i = 0; i < count; i++) {
+                values[i] = names[random.nextInt(names.length)];
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                values[i] = names[sampler.nextIndex(random)];
+            }
         }
     }
     
@@ -44,6 +97,47 @@ public class FirstNameGenerator extends AbstractDataGenerator {
     public Map<String, String> getConstraintsMetadata() {
         Map<String, String> metadata = new HashMap<>();
         metadata.put("gender", "select:any,male,female");
+        Distribution.describe(metadata);
         return metadata;
     }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        String gender = getConstraint(constraints, "gender", "any");
+        if (!Arrays.asList("any", "male", "female").contains(gender.toLowerCase())) {
+            return Optional.of("Invalid gender: must be any, male or female");
+        }
+        return Distribution.validate(constraints);
+    }
+    
+    /**
+     * @return The sampler for the column's distribution, or null for uniform sampling
+     */
+    private Distribution.Sampler sampler(Map<String, Object> constraints, String[] names) {
+        Object sampler = constraints.get(SAMPLER_KEY);
+        if (sampler instanceof Distribution.Sampler) {
+            return (Distribution.Sampler) sampler;
+        }
+        if (!Distribution.isConfigured(constraints)) {
+            return null;
+        }
+        return Distribution.fromConstraints(constraints).sampler(names.length);
+    }
+    
+    private String[] names(Map<String, Object> constraints) {
+        Object names = constraints.get(NAMES_KEY);
+        if (names instanceof String[]) {
+            return (String[]) names;
+        }
+        
+        String gender = getConstraint(constraints, "gender", "any");
+        switch (gender.toLowerCase()) {
+            case "male":
+                return maleNames;
+            case "female":
+                return femaleNames;
+            default:
+                return allNames;
+        }
+    }
 }
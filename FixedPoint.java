@@ -0,0 +1,131 @@
+package com.example.tdg.service.generator;
+
+/**
+ * Allocation-free formatting of fixed-point decimals held as an unscaled
+ * {@code long} and a scale, e.g. unscaled 12345 with scale 2 is "123.45".
+ * Digits are produced with integer arithmetic straight into the caller's
+ * buffer, without {@code BigDecimal} or {@code String.format}.
+ */
+public final class FixedPoint {
+    
+    /** Largest supported scale; 10^18 is the largest power of ten in a long. */
+    public static final int MAX_SCALE = 18;
+    
+    /**
+     * Total digits of the decimals generators produce: unscaled values stay
+     * below 10^18, so they also fit Parquet's INT64 decimal representation.
+     */
+    public static final int MAX_PRECISION = 18;
+    
+    /** Upper bound on the length of a formatted value: sign, 19 digits and the point. */
+    public static final int MAX_LENGTH = 21;
+    
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+    
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+    
+    private FixedPoint() {
+    }
+    
+    /**
+     * @param scale Number of digits after the point, 0 to {@link #MAX_SCALE}
+     * @return 10^scale
+     */
+    public static long powerOfTen(int scale) {
+        return POWERS_OF_TEN[scale];
+    }
+    
+    /**
+     * Write a value as ASCII bytes.
+     * 
+     * @param unscaled The unscaled value
+     * @param scale Number of digits after the point, 0 to {@link #MAX_SCALE}
+     * @param buffer Target buffer with room for {@link #MAX_LENGTH} bytes
+     * @param offset Position of the first byte
+     * @return Number of bytes written
+     */
+    public static int format(long unscaled, int scale, byte[] buffer, int offset) {
+        // Work on the non-positive magnitude so Long.MIN_VALUE needs no special case
+        boolean negative = unscaled < 0;
+        long value = negative ? unscaled : -unscaled;
+        int length = length(value, scale, negative);
+        
+        int p = offset + length;
+        for (int i = 0; i < scale; i++) {
+            buffer[--p] = (byte) ('0' - value % 10);
+            value /= 10;
+        }
+        if (scale > 0) {
+            buffer[--p] = '.';
+        }
+        do {
+            buffer[--p] = (byte) ('0' - value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            buffer[--p] = '-';
+        }
+        return length;
+    }
+    
+    /**
+     * Write a value as chars.
+     * 
+     * @param unscaled The unscaled value
+     * @param scale Number of digits after the point, 0 to {@link #MAX_SCALE}
+     * @param buffer Target buffer with room for {@link #MAX_LENGTH} chars
+     * @param offset Position of the first char
+     * @return Number of chars written
+     */
+    public static int format(long unscaled, int scale, char[] buffer, int offset) {
+        boolean negative = unscaled < 0;
+        long value = negative ? unscaled : -unscaled;
+        int length = length(value, scale, negative);
+        
+        int p = offset + length;
+        for (int i = 0; i < scale; i++) {
+            buffer[--p] = (char) ('0' - value % 10);
+            value /= 10;
+        }
+        if (scale > 0) {
+            buffer[--p] = '.';
+        }
+        do {
+            buffer[--p] = (char) ('0' - value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            buffer[--p] = '-';
+        }
+        return length;
+    }
+    
+    /**
+     * Format a value as a string.
+     * 
+     * @param unscaled The unscaled value
+     * @param scale Number of digits after the point, 0 to {@link #MAX_SCALE}
+     * @return The formatted value
+     */
+    public static String toString(long unscaled, int scale) {
+        char[] chars = new char[MAX_LENGTH];
+        return new String(chars, 0, format(unscaled, scale, chars, 0));
+    }
+    
+    /**
+     * Length of a formatted value; at least one digit precedes the point.
+     */
+    private static int length(long nonPositive, int scale, boolean negative) {
+        int digits = 1;
+        for (long v = nonPositive; v <= -10; v /= 10) {
+            digits++;
+        }
+        int integerDigits = Math.max(1, digits - scale);
+        return (negative ? 1 : 0) + integerDigits + (scale > 0 ? 1 + scale : 0);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.tdg.service.generator;
+
+import com.example.tdg.exception.DataGenerationException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills a child table's foreign key column with keys of its parent table in a
+ * relational batch. Not a registered type: the relational batch mode builds
+ * one per child table and swaps it into the child's plan.
+ * <p>
+ * Two cardinalities are supported:
+ * <ul>
+ * <li>fan-out: every parent gets between a minimum and a maximum number of
+ * children, stored consecutively; the child row count follows from it and
+ * only one {@code long} per parent is kept</li>
+ * <li>sampled: each child row picks its parent from a {@link Distribution}
+ * over the parent rows, e.g. zipf for a few very busy parents</li>
+ * </ul>
+ */
+public final class ForeignKeyGenerator extends AbstractDataGenerator {
+    
+    private final ParentKeys keys;
+    
+    // Sampled mode: draws parent rows
+    private final Distribution.Sampler sampler;
+    
+    // Fan-out mode: first child row of each parent, followed by the child row count
+    private final long[] childStarts;
+    
+    private ForeignKeyGenerator(ParentKeys keys, Distribution.Sampler sampler, long[] childStarts) {
+        super("foreignKey");
+        this.keys = keys;
+        this.sampler = sampler;
+        this.childStarts = childStarts;
+    }
+    
+    /**
+     * Foreign keys whose parents are drawn per child row.
+     * 
+     * @param keys The parent keys
+     * @param distribution How children are spread over the parents
+     * @return The generator
+     * @throws DataGenerationException If the parent table is empty
+     */
+    public static ForeignKeyGenerator sampled(ParentKeys keys, Distribution distribution)
+            throws DataGenerationException {
+        if (keys.size() == 0) {
+            throw new DataGenerationException("Parent table has no rows to reference");
+        }
+        return new ForeignKeyGenerator(keys, distribution.sampler(keys.size()), null);
+    }
+    
+    /**
+     * Foreign keys for a fixed number of children per parent, drawn uniformly
+     * between the bounds from the given seed.
+     * 
+     * @param keys The parent keys
+     * @param minChildren Fewest children of a parent
+     * @param maxChildren Most children of a parent
+     * @param seed Seed for the per-parent child counts
+     * @return The generator
+     * @throws DataGenerationException If the child table would exceed the supported row count
+     */
+    public static ForeignKeyGenerator fanOut(ParentKeys keys, int minChildren, int maxChildren, long seed)
+            throws DataGenerationException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] childStarts = new long[keys.size() + 1];
+        for (int p = 0; p < keys.size(); p++) {
+            childStarts[p + 1] = childStarts[p] + random.nextInt(minChildren, maxChildren + 1);
+        }
+        if (childStarts[keys.size()] > Integer.MAX_VALUE) {
+            throw new DataGenerationException("Fan-out of " + keys.size() + " parents exceeds "
+                    + Integer.MAX_VALUE + " child rows");
+        }
+        return new ForeignKeyGenerator(keys, null, childStarts);
+    }
+    
+    /**
+     * @return Rows the child table must have in fan-out mode, or -1 in sampled mode
+     */
+    public long getChildCount() {
+        return childStarts != null ? childStarts[childStarts.length - 1] : -1;
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        return keys.getValueType();
+    }
+    
+    @Override
+    public int getScale(Map<String, Object> constraints) {
+        return keys.getScale();
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        return keys.toString(parentOf(context.getRowIndex(), context.getRandom()), scratch(context));
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        GenerationContext scratch = scratch(context);
+        long firstRow = context.getRowIndex();
+        
+        if (sampler != null) {
+            SplittableRandom random = context.getRandom();
+            for (int i = 0; i < count; i++) {
+                keys.copyTo(sampler.nextIndex(random), vector, i, scratch);
+            }
+            return;
+        }
+        
+        // Children are stored parent by parent: find the first parent, then walk forward
+        int parent = parentOf(firstRow, null);
+        for (int i = 0; i < count; i++) {
+            while (childStarts[parent + 1] <= firstRow + i) {
+                parent++;
+            }
+            keys.copyTo(parent, vector, i, scratch);
+        }
+    }
+    
+    /**
+     * @return The parent of a child row
+     */
+    private int parentOf(long row, SplittableRandom random) {
+        if (sampler != null) {
+            return sampler.nextIndex(random);
+        }
+        // Last parent whose first child is at or before the row; parents without children are skipped
+        int index = Arrays.binarySearch(childStarts, row);
+        if (index < 0) {
+            return -index - 2;
+        }
+        while (childStarts[index + 1] == row) {
+            index++;
+        }
+        return index;
+    }
+    
+    /**
+     * Chunk-local context for recomputing derived keys without touching the chunk's own.
+     */
+    private GenerationContext scratch(GenerationContext context) {
+        return context.getState(this, owner -> new GenerationContext(new SplittableRandom(0)));
+    }
+}
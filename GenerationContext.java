@@ -0,0 +1,128 @@
+package com.example.tdg.service.generator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Per-chunk state handed to generators.
+ * Each chunk of rows owns one context with its own random stream, so generation
+ * is lock-free under parallel execution and, for a given seed and chunk size,
+ * reproducible bit for bit. Unique columns share one set across chunks, so
+ * seeded runs with unique columns generate their chunks in order. A context
+ * must only be used by one thread at a time.
+ */
+public final class GenerationContext {
+    
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    private final SplittableRandom random;
+    private final Map<Object, Object> state = new IdentityHashMap<>();
+    private long rowIndex;
+    private ColumnVector[] columns;
+    private long blockStart;
+    
+    public GenerationContext(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    /**
+     * Create the context for a chunk of a seeded generation run.
+     * The chunk's random stream depends only on the seed and the chunk index,
+     * never on which thread generates it or in what order.
+     * 
+     * @param seed The run seed
+     * @param chunkIndex Zero-based index of the chunk
+     * @return A new context
+     */
+    public static GenerationContext forChunk(long seed, long chunkIndex) {
+        return new GenerationContext(new SplittableRandom(mix64(seed + (chunkIndex + 1) * GOLDEN_GAMMA)));
+    }
+    
+    /**
+     * Create a context with an unpredictable random stream, for one-off generation.
+     * 
+     * @return A new context
+     */
+    public static GenerationContext unseeded() {
+        return new GenerationContext(new SplittableRandom());
+    }
+    
+    /**
+     * @return The random stream for this chunk
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+    
+    /**
+     * @return Index of the row currently being generated, within the whole output
+     */
+    public long getRowIndex() {
+        return rowIndex;
+    }
+    
+    public void setRowIndex(long rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+    
+    /**
+     * Position the context at a new block of rows.
+     * 
+     * @param columns The block's vectors in output order, filled as columns are generated
+     * @param blockStart Index of the block's first row within the whole output
+     */
+    public void startBlock(ColumnVector[] columns, long blockStart) {
+        this.columns = columns;
+        this.blockStart = blockStart;
+        this.rowIndex = blockStart;
+    }
+    
+    /**
+     * Read access to other columns of the current block, for generators whose
+     * values depend on columns generated earlier in the same row.
+     * 
+     * @param index Output index of the column
+     * @return The column's vector, or null outside block generation
+     */
+    public ColumnVector getColumn(int index) {
+        return columns != null ? columns[index] : null;
+    }
+    
+    /**
+     * @return Position of the current row within the current block's vectors
+     */
+    public int getBlockRow() {
+        return (int) (rowIndex - blockStart);
+    }
+    
+    /**
+     * Get chunk-local state owned by a generator, creating it on first use.
+     * Useful for generators that wrap a stateful library object which must be
+     * seeded from this context's random stream.
+     * 
+     * @param owner The owning generator (compared by identity)
+     * @param factory Creates the state from this context
+     * @param <T> Type of the state object
+     * @return The state object
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getState(Object owner, Function<GenerationContext, T> factory) {
+        Object value = state.get(owner);
+        if (value == null) {
+            value = factory.apply(this);
+            state.put(owner, value);
+        }
+        return (T) value;
+    }
+    
+    /**
+     * Stafford variant 13 finalizer, as used by SplittableRandom.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
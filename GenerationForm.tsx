@@ -242,6 +242,7 @@ const GenerationForm: React.FC<GenerationFormProps> = ({
     // Show raw data for JSON, XML, or if raw view is selected
     if (previewType === 'raw' || 
         formValues.outputFormat === OutputFormat.JSON || 
+        formValues.outputFormat === OutputFormat.JSONL || 
         formValues.outputFormat === OutputFormat.XML) {
       return (
         <pre className="preview-content">
@@ -331,6 +332,16 @@ const GenerationForm: React.FC<GenerationFormProps> = ({
                       <div className="format-option-label">JSON</div>
                     </div>
                     
+                    <div 
+                      className={`format-option-card ${formValues.outputFormat === OutputFormat.JSONL ? 'selected' : ''}`}
+                      onClick={() => handleFormatSelect(OutputFormat.JSONL)}
+                    >
+                      <div className="format-option-icon">
+                        <Code size={24} />
+                      </div>
+                      <div className="format-option-label">JSON Lines</div>
+                    </div>
+                    
                     <div 
                       className={`format-option-card ${formValues.outputFormat === OutputFormat.XML ? 'selected' : ''}`}
                       onClick={() => handleFormatSelect(OutputFormat.XML)}
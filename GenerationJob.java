@@ -3,8 +3,10 @@ package com.example.tdg.service.scheduler;
 import com.example.tdg.exception.DataGenerationException;
 import com.example.tdg.exception.ScheduleNotFoundException;
 import com.example.tdg.model.entity.GenerationSchedule;
+import com.example.tdg.model.entity.Template;
 import com.example.tdg.service.DataGenerationService;
 import com.example.tdg.service.ScheduleService;
+import com.example.tdg.service.generator.GenerationPlan;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
@@ -14,9 +16,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -49,6 +53,7 @@ public class GenerationJob implements Job {
             GenerationSchedule.Status originalStatus = null;
             Long templateId = null;
             int rowCount = 0;
+            Long seed = null;
             GenerationSchedule.Status scheduleStatus = null;
             
             try {
@@ -56,6 +61,7 @@ public class GenerationJob implements Job {
                 originalStatus = schedule.getStatus();
                 templateId = schedule.getTemplate().getId();
                 rowCount = schedule.getRowCount();
+                seed = schedule.getSeed();
                 scheduleStatus = schedule.getStatus();
             } catch (ScheduleNotFoundException e) {
                 logger.error("Schedule not found for ID: {}", scheduleId);
@@ -68,15 +74,10 @@ public class GenerationJob implements Job {
                 return;
             }
             
-            // Generate data
-            byte[] data = dataGenerationService.generateData(
-                    templateId,
-                    rowCount,
-                    dataMap.getString("outputFormat")
-            );
-            
-            // Save data to file
-            String filename = saveGeneratedData(data, scheduleId, dataMap.getString("outputFormat"));
+            // Generate data straight into the output file
+            Template.OutputFormat outputFormat = Template.OutputFormat.valueOf(dataMap.getString("outputFormat"));
+            GenerationPlan plan = dataGenerationService.compilePlan(templateId);
+            String filename = saveGeneratedData(plan, rowCount, seed, scheduleId, outputFormat);
             
             // Update schedule with success result
             scheduleService.updateLastRunInfo(scheduleId, "Generated " + rowCount + " rows, saved to " + filename);
@@ -100,15 +101,18 @@ public class GenerationJob implements Job {
     }
     
     /**
-     * Save generated data to a file.
+     * Generate data and stream it to a file.
      * 
-     * @param data The generated data
+     * @param plan The compiled generation plan
+     * @param rowCount The number of rows to generate
+     * @param seed Seed for reproducible output, or null for a random seed
      * @param scheduleId The schedule ID
      * @param outputFormat The output format
      * @return The filename
      * @throws IOException If file saving fails
      */
-    private String saveGeneratedData(byte[] data, Long scheduleId, String outputFormat) throws IOException {
+    private String saveGeneratedData(GenerationPlan plan, int rowCount, Long seed, Long scheduleId,
+            Template.OutputFormat outputFormat) throws IOException {
         // Ensure output directory exists
         Path outputDir = Paths.get("generated-data");
         if (!Files.exists(outputDir)) {
@@ -117,14 +121,14 @@ public class GenerationJob implements Job {
         
         // Create filename with timestamp
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String extension = outputFormat.toLowerCase();
+        String extension = outputFormat.toString().toLowerCase();
         String filename = String.format("schedule_%d_%s.%s", scheduleId, timestamp, extension);
         
         File outputFile = new File(outputDir.toFile(), filename);
         
-        // Write data to file
-        try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-            fos.write(data);
+        // Write data to file as it is generated
+        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            dataGenerationService.generateData(plan, rowCount, outputFormat, seed, os);
         }
         
         return outputFile.getAbsolutePath();
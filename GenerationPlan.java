@@ -0,0 +1,92 @@
+package com.example.tdg.service.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Compiled, immutable generation plan for a template.
+ * Columns are ordered by sequence number and carry their resolved generator
+ * and typed constraints, so a plan can be shared by any number of rows or threads.
+ */
+public final class GenerationPlan {
+    
+    private final String templateName;
+    private final List<ColumnPlan> columns;
+    private final String[] columnNames;
+    private final int[] scales;
+    private final int[] generationOrder;
+    
+    GenerationPlan(String templateName, List<ColumnPlan> columns, int[] generationOrder) {
+        this.templateName = templateName;
+        this.columns = Collections.unmodifiableList(columns);
+        this.generationOrder = generationOrder;
+        this.columnNames = new String[columns.size()];
+        this.scales = new int[columns.size()];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = columns.get(i).getName();
+            scales[i] = columns.get(i).getScale();
+        }
+    }
+    
+    public String getTemplateName() {
+        return templateName;
+    }
+    
+    /**
+     * @return Columns in output order
+     */
+    public List<ColumnPlan> getColumns() {
+        return columns;
+    }
+    
+    public ColumnPlan getColumn(int index) {
+        return columns.get(index);
+    }
+    
+    public int getColumnCount() {
+        return columns.size();
+    }
+    
+    /**
+     * @return Column names in output order (do not modify)
+     */
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+    
+    /**
+     * @return Scale of each column in output order, 0 for non-DECIMAL columns (do not modify)
+     */
+    public int[] getScales() {
+        return scales;
+    }
+    
+    /**
+     * Copy this plan with one column generated by a different generator, e.g.
+     * a foreign key column bound to the keys of a parent table. The column
+     * keeps its name, position and null settings.
+     * 
+     * @param index Output index of the column
+     * @param generator The replacement generator, called with no constraints
+     * @return The new plan
+     */
+    public GenerationPlan withGenerator(int index, DataGenerator generator) {
+        ColumnPlan column = columns.get(index);
+        List<ColumnPlan> replaced = new ArrayList<>(columns);
+        replaced.set(index, new ColumnPlan(index, column.getName(), generator.getType(), generator,
+                generator.prepareConstraints(new HashMap<>()), column.getNullStrategy(), column.isUnique(),
+                new int[0]));
+        return new GenerationPlan(templateName, replaced, generationOrder);
+    }
+    
+    /**
+     * Columns in output order, except that a column follows the columns it depends on.
+     * 
+     * @return Column indexes in generation order (do not modify)
+     */
+    public int[] getGenerationOrder() {
+        return generationOrder;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.tdg.service.generator;
+
+import com.example.tdg.exception.DataGenerationException;
+import com.example.tdg.model.entity.ColumnDefinition;
+import com.example.tdg.model.entity.Template;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compiles templates into {@link GenerationPlan}s.
+ * All per-column work that does not depend on the row (sorting, generator lookup,
+ * constraint type conversion, generator-specific preparation, dependency
+ * ordering) happens here exactly once per generation request.
+ */
+@Component
+public class GenerationPlanCompiler {
+    
+    @Autowired
+    private DataTypeRegistry dataTypeRegistry;
+    
+    /**
+     * Compile a template into a generation plan.
+     * 
+     * @param template The template
+     * @return The compiled plan
+     * @throws DataGenerationException If a column type has no registered generator or dependencies are invalid
+     */
+    public GenerationPlan compile(Template template) throws DataGenerationException {
+        List<ColumnDefinition> columnDefinitions = new ArrayList<>(template.getColumnDefinitions());
+        columnDefinitions.sort(Comparator.comparing(ColumnDefinition::getSequenceNumber));
+        
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < columnDefinitions.size(); i++) {
+            columnIndexes.putIfAbsent(columnDefinitions.get(i).getName(), i);
+        }
+        columnIndexes = Collections.unmodifiableMap(columnIndexes);
+        
+        List<ColumnPlan> columns = new ArrayList<>(columnDefinitions.size());
+        for (ColumnDefinition column : columnDefinitions) {
+            columns.add(compileColumn(columns.size(), column, columnIndexes));
+        }
+        
+        return new GenerationPlan(template.getName(), columns, generationOrder(columns));
+    }
+    
+    /**
+     * Compile a single column definition.
+     */
+    private ColumnPlan compileColumn(int index, ColumnDefinition column, Map<String, Integer> columnIndexes)
+            throws DataGenerationException {
+        String type = column.getType();
+        DataGenerator generator = dataTypeRegistry.getGenerator(type)
+                .orElseThrow(() -> new DataGenerationException("No generator found for type: " + type));
+        
+        Map<String, Object> typedConstraints = new HashMap<>();
+        for (Map.Entry<String, String> entry : column.getConstraints().entrySet()) {
+            typedConstraints.put(entry.getKey(), toTypedValue(entry.getValue()));
+        }
+        
+        List<String> references = generator.getDependencies(typedConstraints);
+        int[] dependencies = new int[references.size()];
+        for (int i = 0; i < dependencies.length; i++) {
+            Integer dependency = columnIndexes.get(references.get(i));
+            if (dependency == null) {
+                throw new DataGenerationException("Column " + column.getName() + " depends on unknown column: "
+                        + references.get(i));
+            }
+            dependencies[i] = dependency;
+        }
+        if (dependencies.length > 0) {
+            typedConstraints.put(DataGenerator.COLUMN_INDEXES, columnIndexes);
+        }
+        Map<String, Object> preparedConstraints = generator.prepareConstraints(typedConstraints);
+        
+        // Read the entity's boxed null settings once; rows only see the compiled strategy
+        boolean nullable = Boolean.TRUE.equals(column.getIsNullable());
+        double nullProbability = column.getNullProbability() != null ? column.getNullProbability() : 0.0;
+        NullStrategy nullStrategy;
+        try {
+            nullStrategy = NullStrategy.compile(nullable, nullProbability, typedConstraints);
+        } catch (DataGenerationException e) {
+            throw new DataGenerationException("Column " + column.getName() + ": " + e.getMessage());
+        }
+        boolean unique = Boolean.TRUE.equals(typedConstraints.get(ColumnPlan.UNIQUE));
+        
+        return new ColumnPlan(index, column.getName(), type, generator, preparedConstraints, nullStrategy, unique,
+                dependencies);
+    }
+    
+    /**
+     * Order columns so that each one is generated after the columns it depends on.
+     * Independent columns keep their output order, so templates without
+     * dependencies generate exactly as before.
+     * 
+     * @param columns The compiled columns in output order
+     * @return Column indexes in generation order
+     * @throws DataGenerationException If the dependencies form a cycle
+     */
+    private static int[] generationOrder(List<ColumnPlan> columns) throws DataGenerationException {
+        int[] order = new int[columns.size()];
+        boolean[] placed = new boolean[columns.size()];
+        
+        for (int position = 0; position < order.length; position++) {
+            int next = -1;
+            for (int c = 0; c < order.length && next < 0; c++) {
+                if (!placed[c] && allPlaced(columns.get(c).getDependencies(), placed)) {
+                    next = c;
+                }
+            }
+            if (next < 0) {
+                throw new DataGenerationException("Circular column dependency: " + describeCycle(columns, placed));
+            }
+            order[position] = next;
+            placed[next] = true;
+        }
+        return order;
+    }
+    
+    private static boolean allPlaced(int[] dependencies, boolean[] placed) {
+        for (int dependency : dependencies) {
+            if (!placed[dependency]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Find a cycle among the columns that could not be ordered, e.g. "a -> b -> a".
+     * Every such column depends on at least one other such column, so following
+     * those dependencies must revisit a column.
+     */
+    private static String describeCycle(List<ColumnPlan> columns, boolean[] placed) {
+        int[] visitedAt = new int[columns.size()];
+        List<Integer> path = new ArrayList<>();
+        
+        int current = 0;
+        while (placed[current]) {
+            current++;
+        }
+        while (visitedAt[current] == 0) {
+            path.add(current);
+            visitedAt[current] = path.size();
+            for (int dependency : columns.get(current).getDependencies()) {
+                if (!placed[dependency]) {
+                    current = dependency;
+                    break;
+                }
+            }
+        }
+        
+        StringJoiner cycle = new StringJoiner(" -> ");
+        for (int i = visitedAt[current] - 1; i < path.size(); i++) {
+            cycle.add(columns.get(path.get(i)).getName());
+        }
+        return cycle.add(columns.get(current).getName()).toString();
+    }
+    
+    /**
+     * Convert a stored constraint string to a Boolean, Integer or Double where possible.
+     * 
+     * @param value The stored constraint value
+     * @return The typed value, or the original string if it is not a boolean or number
+     */
+    static Object toTypedValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        
+        int digits = 0;
+        int dot = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && dot < 0) {
+                dot = i;
+            } else {
+                return value;
+            }
+        }
+        
+        try {
+            if (dot < 0 && digits > 0) {
+                return Integer.parseInt(value);
+            }
+            if (dot > 0 && dot < value.length() - 1) {
+                return Double.parseDouble(value);
+            }
+        } catch (NumberFormatException e) {
+            // Out of range, keep the original string value
+        }
+        return value;
+    }
+}
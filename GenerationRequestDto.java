@@ -20,6 +20,10 @@ public class GenerationRequestDto {
     
     private String filename;
     
+    // Optional seed; the same seed, template and row count reproduce the same data
+    // (templates with unique columns then generate their chunks sequentially)
+    private Long seed;
+    
     // Getters and setters
     
     public Long getTemplateId() {
@@ -53,4 +57,12 @@ public class GenerationRequestDto {
     public void setFilename(String filename) {
         this.filename = filename;
     }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
 }
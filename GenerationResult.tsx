@@ -87,8 +87,14 @@ const GenerationResult: React.FC<GenerationResultProps> = ({
         return 'text/csv';
       case OutputFormat.JSON:
         return 'application/json';
+      case OutputFormat.JSONL:
+        return 'application/x-ndjson';
       case OutputFormat.XML:
         return 'application/xml';
+      case OutputFormat.PARQUET:
+        return 'application/vnd.apache.parquet';
+      case OutputFormat.ARROW:
+        return 'application/vnd.apache.arrow.stream';
       default:
         return 'text/plain';
     }
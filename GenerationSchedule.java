@@ -32,6 +32,9 @@ public class GenerationSchedule {
     @Column(name = "output_format", nullable = false)
     private Template.OutputFormat outputFormat;
     
+    @Column(name = "seed")
+    private Long seed;
+    
     @Column(name = "next_run_time")
     private LocalDateTime nextRunTime;
     
@@ -111,6 +114,14 @@ public class GenerationSchedule {
         this.outputFormat = outputFormat;
     }
     
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
     public LocalDateTime getNextRunTime() {
         return nextRunTime;
     }
@@ -30,6 +30,8 @@ public class GenerationScheduleDto {
     @NotNull(message = "Output format is required")
     private Template.OutputFormat outputFormat;
     
+    private Long seed;
+    
     private LocalDateTime nextRunTime;
     
     private String cronExpression;
@@ -96,6 +98,14 @@ public class GenerationScheduleDto {
         this.outputFormat = outputFormat;
     }
     
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
     public LocalDateTime getNextRunTime() {
         return nextRunTime;
     }
@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractPatternGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates identification numbers, by default two letters followed by seven digits.
+ */
+@Component
+@DataGeneratorType(
+    category = "Personal",
+    displayName = "ID Number",
+    description = "Generates identification numbers or values matching a pattern"
+)
+public class IdNumberGenerator extends AbstractPatternGenerator {
+    
+    public IdNumberGenerator() {
+        super("idNumber", "[A-Z]{2}\\d{7}");
+    }
+}
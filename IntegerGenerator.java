@@ -0,0 +1,20 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates 32-bit integers within a range.
+ */
+@Component
+@DataGeneratorType(
+    category = "Numeric",
+    displayName = "Integer",
+    description = "Generates whole numbers within a 32-bit range"
+)
+public class IntegerGenerator extends AbstractNumericGenerator {
+    
+    public IntegerGenerator() {
+        super("integer", false, 0, 0, 1000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+}
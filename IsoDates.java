@@ -0,0 +1,219 @@
+package com.example.tdg.service.generator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Allocation-free ISO-8601 formatting of epoch days (yyyy-MM-dd), times of day
+ * (HH:mm:ss) and UTC timestamps (yyyy-MM-ddTHH:mm:ss.SSSZ).
+ * Dates with a four-digit year are converted with integer arithmetic only and
+ * written straight into the caller's buffer; other years fall back to java.time.
+ */
+public final class IsoDates {
+    
+    /** Length of a formatted date with a four-digit year. */
+    public static final int LENGTH = 10;
+    
+    /** Length of a formatted time of day. */
+    public static final int TIME_LENGTH = 8;
+    
+    /** Length of a formatted local date-time with a four-digit year. */
+    public static final int DATE_TIME_LENGTH = 19;
+    
+    /** Length of a formatted UTC timestamp with a four-digit year. */
+    public static final int TIMESTAMP_LENGTH = 24;
+    
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final DateTimeFormatter TIMESTAMP_FALLBACK =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    
+    private static final long MIN_FAST_DAY = LocalDate.of(0, 1, 1).toEpochDay();
+    private static final long MAX_FAST_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+    
+    private IsoDates() {
+    }
+    
+    /**
+     * @param epochDay Days since 1970-01-01
+     * @return True if the date formats to exactly {@link #LENGTH} characters
+     */
+    public static boolean isFixedLength(long epochDay) {
+        return epochDay >= MIN_FAST_DAY && epochDay <= MAX_FAST_DAY;
+    }
+    
+    /**
+     * Write a fixed-length date as ASCII bytes.
+     * 
+     * @param epochDay Days since 1970-01-01; must satisfy {@link #isFixedLength}
+     * @param buffer Target buffer with room for {@link #LENGTH} bytes
+     * @param offset Position of the first byte
+     */
+    public static void format(long epochDay, byte[] buffer, int offset) {
+        int date = toYyyyMmDd(epochDay);
+        for (int i = offset + LENGTH - 1; i >= offset; i--) {
+            if (i == offset + 4 || i == offset + 7) {
+                buffer[i] = '-';
+            } else {
+                buffer[i] = (byte) ('0' + date % 10);
+                date /= 10;
+            }
+        }
+    }
+    
+    /**
+     * Write a fixed-length date as chars.
+     * 
+     * @param epochDay Days since 1970-01-01; must satisfy {@link #isFixedLength}
+     * @param buffer Target buffer with room for {@link #LENGTH} chars
+     * @param offset Position of the first char
+     */
+    public static void format(long epochDay, char[] buffer, int offset) {
+        int date = toYyyyMmDd(epochDay);
+        for (int i = offset + LENGTH - 1; i >= offset; i--) {
+            if (i == offset + 4 || i == offset + 7) {
+                buffer[i] = '-';
+            } else {
+                buffer[i] = (char) ('0' + date % 10);
+                date /= 10;
+            }
+        }
+    }
+    
+    /**
+     * Format any epoch day the same way {@link LocalDate#toString()} does.
+     * 
+     * @param epochDay Days since 1970-01-01
+     * @return The ISO date string
+     */
+    public static String toString(long epochDay) {
+        if (!isFixedLength(epochDay)) {
+            return LocalDate.ofEpochDay(epochDay).toString();
+        }
+        char[] chars = new char[LENGTH];
+        format(epochDay, chars, 0);
+        return new String(chars);
+    }
+    
+    /**
+     * @param epochMillis Milliseconds since 1970-01-01T00:00:00Z
+     * @return True if the timestamp formats to exactly {@link #TIMESTAMP_LENGTH} characters
+     */
+    public static boolean isFixedLengthMillis(long epochMillis) {
+        return isFixedLength(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+    }
+    
+    /**
+     * Write a time of day as HH:mm:ss.
+     * 
+     * @param secondOfDay Seconds since midnight, 0 to 86399
+     * @param buffer Target buffer with room for {@link #TIME_LENGTH} chars
+     * @param offset Position of the first char
+     */
+    public static void formatTime(int secondOfDay, char[] buffer, int offset) {
+        putTwoDigits(buffer, offset, secondOfDay / 3600);
+        buffer[offset + 2] = ':';
+        putTwoDigits(buffer, offset + 3, secondOfDay / 60 % 60);
+        buffer[offset + 5] = ':';
+        putTwoDigits(buffer, offset + 6, secondOfDay % 60);
+    }
+    
+    /**
+     * Write a local date-time as yyyy-MM-ddTHH:mm:ss.
+     * 
+     * @param epochSecond Local seconds since 1970-01-01T00:00; the date must satisfy {@link #isFixedLength}
+     * @param buffer Target buffer with room for {@link #DATE_TIME_LENGTH} chars
+     * @param offset Position of the first char
+     */
+    public static void formatDateTime(long epochSecond, char[] buffer, int offset) {
+        format(Math.floorDiv(epochSecond, 86400), buffer, offset);
+        buffer[offset + LENGTH] = 'T';
+        formatTime(Math.floorMod(epochSecond, 86400), buffer, offset + LENGTH + 1);
+    }
+    
+    /**
+     * Write a fixed-length UTC timestamp as chars.
+     * 
+     * @param epochMillis Milliseconds since the epoch; must satisfy {@link #isFixedLengthMillis}
+     * @param buffer Target buffer with room for {@link #TIMESTAMP_LENGTH} chars
+     * @param offset Position of the first char
+     */
+    public static void formatTimestamp(long epochMillis, char[] buffer, int offset) {
+        formatDateTime(Math.floorDiv(epochMillis, 1000), buffer, offset);
+        int millis = Math.floorMod(epochMillis, 1000);
+        buffer[offset + 19] = '.';
+        buffer[offset + 20] = (char) ('0' + millis / 100);
+        putTwoDigits(buffer, offset + 21, millis % 100);
+        buffer[offset + 23] = 'Z';
+    }
+    
+    /**
+     * Write a fixed-length UTC timestamp as ASCII bytes.
+     * 
+     * @param epochMillis Milliseconds since the epoch; must satisfy {@link #isFixedLengthMillis}
+     * @param buffer Target buffer with room for {@link #TIMESTAMP_LENGTH} bytes
+     * @param offset Position of the first byte
+     */
+    public static void formatTimestamp(long epochMillis, byte[] buffer, int offset) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        int secondOfDay = Math.floorMod(epochSecond, 86400);
+        int millis = Math.floorMod(epochMillis, 1000);
+        
+        format(Math.floorDiv(epochSecond, 86400), buffer, offset);
+        buffer[offset + 10] = 'T';
+        putTwoDigits(buffer, offset + 11, secondOfDay / 3600);
+        buffer[offset + 13] = ':';
+        putTwoDigits(buffer, offset + 14, secondOfDay / 60 % 60);
+        buffer[offset + 16] = ':';
+        putTwoDigits(buffer, offset + 17, secondOfDay % 60);
+        buffer[offset + 19] = '.';
+        buffer[offset + 20] = (byte) ('0' + millis / 100);
+        putTwoDigits(buffer, offset + 21, millis % 100);
+        buffer[offset + 23] = 'Z';
+    }
+    
+    /**
+     * Format any UTC timestamp with millisecond precision.
+     * 
+     * @param epochMillis Milliseconds since the epoch
+     * @return The ISO timestamp string
+     */
+    public static String toTimestampString(long epochMillis) {
+        if (!isFixedLengthMillis(epochMillis)) {
+            return TIMESTAMP_FALLBACK.format(Instant.ofEpochMilli(epochMillis));
+        }
+        char[] chars = new char[TIMESTAMP_LENGTH];
+        formatTimestamp(epochMillis, chars, 0);
+        return new String(chars);
+    }
+    
+    private static void putTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+    
+    private static void putTwoDigits(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) ('0' + value / 10);
+        buffer[offset + 1] = (byte) ('0' + value % 10);
+    }
+    
+    /**
+     * Convert an epoch day to a proleptic Gregorian date packed as yyyyMMdd,
+     * using the days-from-civil inverse over 400-year eras.
+     */
+    private static int toYyyyMmDd(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        
+        return year * 10000 + month * 100 + day;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.IsoDates;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams rows as JSON using Jackson's {@link JsonGenerator}.
+ * In array mode the output is a single JSON array with one object per line;
+ * in JSON Lines mode every row is a standalone object terminated by a newline.
+ * Longs, doubles and decimals are written as JSON numbers, dates and timestamps as ISO strings.
+ */
+public class JsonRowWriter implements RowWriter {
+    
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .rootValueSeparator((String) null)
+            .build();
+    
+    private final SerializedString[] fieldNames;
+    private final int[] scales;
+    private final OutputStream outputStream;
+    private final JsonGenerator generator;
+    private final boolean jsonLines;
+    private final char[] dateBuffer = new char[IsoDates.TIMESTAMP_LENGTH];
+    private final char[] numberBuffer = new char[FixedPoint.MAX_LENGTH];
+    private long rowIndex;
+    
+    public JsonRowWriter(GenerationPlan plan, OutputStream outputStream, long firstRowIndex, boolean jsonLines)
+            throws IOException {
+        String[] columnNames = plan.getColumnNames();
+        this.fieldNames = new SerializedString[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            fieldNames[i] = new SerializedString(columnNames[i]);
+        }
+        this.scales = plan.getScales();
+        this.outputStream = outputStream;
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.jsonLines = jsonLines;
+        this.rowIndex = firstRowIndex;
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        if (!jsonLines) {
+            generator.writeRaw("[\n");
+        }
+    }
+    
+    @Override
+    public void startRow() throws IOException {
+        // Separators go before each row so chunks can be written independently
+        if (!jsonLines && rowIndex > 0) {
+            generator.writeRaw(",\n");
+        }
+        generator.writeStartObject();
+    }
+    
+    @Override
+    public void writeNull(int column) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        generator.writeNull();
+    }
+    
+    @Override
+    public void writeString(int column, String value) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        generator.writeString(value);
+    }
+    
+    @Override
+    public void writeLong(int column, long value) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        generator.writeNumber(value);
+    }
+    
+    @Override
+    public void writeDouble(int column, double value) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        generator.writeNumber(value);
+    }
+    
+    @Override
+    public void writeDecimal(int column, long unscaled) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        generator.writeNumber(numberBuffer, 0, FixedPoint.format(unscaled, scales[column], numberBuffer, 0));
+    }
+    
+    @Override
+    public void writeDate(int column, long epochDay) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        if (IsoDates.isFixedLength(epochDay)) {
+            IsoDates.format(epochDay, dateBuffer, 0);
+            generator.writeString(dateBuffer, 0, IsoDates.LENGTH);
+        } else {
+            generator.writeString(IsoDates.toString(epochDay));
+        }
+    }
+    
+    @Override
+    public void writeTimestamp(int column, long epochMillis) throws IOException {
+        generator.writeFieldName(fieldNames[column]);
+        if (IsoDates.isFixedLengthMillis(epochMillis)) {
+            IsoDates.formatTimestamp(epochMillis, dateBuffer, 0);
+            generator.writeString(dateBuffer, 0, IsoDates.TIMESTAMP_LENGTH);
+        } else {
+            generator.writeString(IsoDates.toTimestampString(epochMillis));
+        }
+    }
+    
+    @Override
+    public void endRow() throws IOException {
+        generator.writeEndObject();
+        if (jsonLines) {
+            generator.writeRaw('\n');
+        }
+        rowIndex++;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+    
+    @Override
+    public void appendChunk(ByteArrayOutputStream chunk) throws IOException {
+        generator.flush();
+        chunk.writeTo(outputStream);
+    }
+    
+    @Override
+    public void writeFooter() throws IOException {
+        if (!jsonLines) {
+            generator.writeRaw("\n]\n");
+        }
+        generator.flush();
+    }
+}
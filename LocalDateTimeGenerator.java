@@ -0,0 +1,55 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.IsoDates;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+
+/**
+ * Generates local date-times (wall-clock time in the configured zone, without offset).
+ * The default yyyy-MM-ddTHH:mm:ss rendering is written into a char buffer
+ * without a formatter whenever the zone has a fixed offset.
+ */
+@Component
+@DataGeneratorType(
+    category = "DateTime",
+    displayName = "Local Date-Time",
+    description = "Generates date-times without zone within a range, randomly or as an increasing sequence"
+)
+public class LocalDateTimeGenerator extends AbstractTimestampGenerator {
+    
+    private static final DateTimeFormatter DEFAULT_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    public LocalDateTimeGenerator() {
+        super("localDateTime");
+    }
+    
+    @Override
+    String format(TimestampSpec spec, long epochMillis) {
+        ZoneRules rules = spec.zone.getRules();
+        if (spec.formatter == null && rules.isFixedOffset()) {
+            long localSecond = Math.floorDiv(epochMillis, 1000) + rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            if (IsoDates.isFixedLength(Math.floorDiv(localSecond, 86400))) {
+                char[] chars = new char[IsoDates.DATE_TIME_LENGTH];
+                IsoDates.formatDateTime(localSecond, chars, 0);
+                return new String(chars);
+            }
+        }
+        
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), spec.zone);
+        return dateTime.format(spec.formatter != null ? spec.formatter : DEFAULT_FORMATTER);
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = super.getConstraintsMetadata();
+        metadata.put("format", "string");
+        return metadata;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates 64-bit integers within a range.
+ */
+@Component
+@DataGeneratorType(
+    category = "Numeric",
+    displayName = "Long",
+    description = "Generates whole numbers within a 64-bit range"
+)
+public class LongGenerator extends AbstractNumericGenerator {
+    
+    public LongGenerator() {
+        super("long", false, 0, 0, 1_000_000_000L, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+}
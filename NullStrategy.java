@@ -0,0 +1,190 @@
+package com.example.tdg.service.generator;
+
+import com.example.tdg.exception.DataGenerationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Decides which rows of a nullable column are null, compiled once per column
+ * from its null probability and the {@code nullStrategy} constraint:
+ * <ul>
+ * <li>{@code random} - each row independently with the null probability (default)</li>
+ * <li>{@code exact} - exactly that fraction, evenly spread: the first {@code n}
+ * rows always hold {@code floor(n * probability)} nulls</li>
+ * <li>{@code everyNth} - every {@code nullEvery}-th row</li>
+ * <li>{@code runs} - runs of consecutive nulls, {@code nullRunLength} (5) rows
+ * long on average, covering the null probability overall</li>
+ * </ul>
+ * Random decisions compare the top 53 bits of a draw with a precomputed
+ * integer threshold, which selects exactly the rows {@code nextDouble() < p}
+ * would, and write the null flags without branching.
+ */
+public final class NullStrategy {
+    
+    public static final String KEY = "nullStrategy";
+    
+    private static final int DEFAULT_RUN_LENGTH = 5;
+    
+    private static final NullStrategy NONE = new NullStrategy(Mode.NONE, 0, 0, 0, 0);
+    
+    enum Mode {
+        NONE, RANDOM, EXACT, EVERY_NTH, RUNS
+    }
+    
+    private final Mode mode;
+    private final double fraction;
+    
+    // RANDOM: draws below this are null; RUNS: draws below this start a run
+    private final long threshold;
+    
+    // EVERY_NTH: period; RUNS: draws below this end a run
+    private final long parameter;
+    
+    // RUNS: average run length
+    private final double runLength;
+    
+    private NullStrategy(Mode mode, double fraction, long threshold, long parameter, double runLength) {
+        this.mode = mode;
+        this.fraction = fraction;
+        this.threshold = threshold;
+        this.parameter = parameter;
+        this.runLength = runLength;
+    }
+    
+    /**
+     * Compile the null handling of a column.
+     * 
+     * @param nullable Whether the column may hold nulls
+     * @param probability Fraction of null rows, 0 to 1
+     * @param constraints Typed constraints of the column
+     * @return The strategy
+     * @throws DataGenerationException If the strategy constraints are invalid
+     */
+    public static NullStrategy compile(boolean nullable, double probability, Map<String, Object> constraints)
+            throws DataGenerationException {
+        if (!nullable) {
+            return NONE;
+        }
+        
+        Object strategy = constraints.get(KEY);
+        String name = strategy != null ? strategy.toString().trim().toLowerCase(Locale.ROOT) : "random";
+        double p = Double.isNaN(probability) ? 0 : Math.max(0, Math.min(1, probability));
+        
+        switch (name) {
+            case "random":
+                return p > 0 ? new NullStrategy(Mode.RANDOM, p, threshold(p), 0, 0) : NONE;
+            case "exact":
+                return p > 0 ? new NullStrategy(Mode.EXACT, p, 0, 0, 0) : NONE;
+            case "everynth":
+                Object every = constraints.get("nullEvery");
+                if (!(every instanceof Integer) || (Integer) every < 1) {
+                    throw new DataGenerationException("nullEvery must be a whole number of at least 1");
+                }
+                return new NullStrategy(Mode.EVERY_NTH, 1.0 / (Integer) every, 0, (Integer) every, 0);
+            case "runs":
+                Object length = constraints.get("nullRunLength");
+                if (length != null && (!(length instanceof Number) || ((Number) length).doubleValue() < 1)) {
+                    throw new DataGenerationException("nullRunLength must be at least 1");
+                }
+                double l = length != null ? ((Number) length).doubleValue() : DEFAULT_RUN_LENGTH;
+                if (p <= 0) {
+                    return NONE;
+                }
+                if (p >= 1) {
+                    return new NullStrategy(Mode.RANDOM, 1, threshold(1), 0, 0);
+                }
+                // Two-state chain: a run ends with chance 1/l, so starts must have p/(l(1-p)) to average p
+                double start = Math.min(1, p / (l * (1 - p)));
+                return new NullStrategy(Mode.RUNS, p, threshold(start), threshold(1 / l), l);
+            default:
+                throw new DataGenerationException("Unknown null strategy: " + strategy
+                        + " (expected random, exact, everyNth or runs)");
+        }
+    }
+    
+    /**
+     * @return True if no row is ever null
+     */
+    public boolean isNone() {
+        return mode == Mode.NONE;
+    }
+    
+    /**
+     * @return Expected fraction of null rows
+     */
+    public double getFraction() {
+        return fraction;
+    }
+    
+    /**
+     * Mark the null rows of a generated block.
+     * 
+     * @param vector The column's vector
+     * @param count Number of rows in the block
+     * @param context The generation context, positioned at the block's first row
+     */
+    public void apply(ColumnVector vector, int count, GenerationContext context) {
+        boolean[] nulls = vector.getNulls();
+        long firstRow = context.getRowIndex();
+        SplittableRandom random = context.getRandom();
+        
+        switch (mode) {
+            case RANDOM:
+                for (int i = 0; i < count; i++) {
+                    nulls[i] |= (random.nextLong() >>> 11) < threshold;
+                }
+                break;
+            case EXACT:
+                // Row r is null if it carries floor((r+1)p) past floor(rp)
+                long before = (long) (firstRow * fraction);
+                for (int i = 0; i < count; i++) {
+                    long after = (long) ((firstRow + i + 1) * fraction);
+                    nulls[i] |= after != before;
+                    before = after;
+                }
+                break;
+            case EVERY_NTH:
+                long position = (firstRow + 1) % parameter;
+                for (int i = 0; i < count; i++) {
+                    nulls[i] |= position == 0;
+                    position = position + 1 == parameter ? 0 : position + 1;
+                }
+                break;
+            case RUNS:
+                // Whether the previous row of this chunk was null; a chunk starts in the steady state
+                boolean[] inRun = context.getState(this, owner -> new boolean[] {random.nextDouble() < fraction});
+                boolean state = inRun[0];
+                for (int i = 0; i < count; i++) {
+                    long draw = random.nextLong() >>> 11;
+                    state = state ? draw >= parameter : draw < threshold;
+                    nulls[i] |= state;
+                }
+                inRun[0] = state;
+                break;
+            default:
+                break;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        switch (mode) {
+            case EVERY_NTH:
+                return "everyNth(" + parameter + ")";
+            case RUNS:
+                return "runs(" + fraction + ", length " + runLength + ")";
+            default:
+                return mode.name().toLowerCase(Locale.ROOT) + "(" + fraction + ")";
+        }
+    }
+    
+    /**
+     * Threshold on the top 53 bits of a draw, i.e. on {@code nextDouble() * 2^53},
+     * below which an event with the given probability happens.
+     */
+    private static long threshold(double probability) {
+        return (long) Math.ceil(probability * 0x1p53);
+    }
+}
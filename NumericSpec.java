@@ -0,0 +1,141 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.Distribution;
+import com.example.tdg.service.generator.FixedPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Range, scale and distribution of a numeric column, resolved once per column
+ * plan. Values are held as unscaled longs: with scale 2, 12.34 is 1234, so
+ * generation is plain integer arithmetic for integers and decimals alike.
+ */
+final class NumericSpec {
+    
+    static final String KEY = "numeric.spec";
+    
+    final long min;
+    final long max;
+    final int scale;
+    
+    // Draws offsets from min; null for the uniform default
+    final Distribution.Sampler sampler;
+    
+    private NumericSpec(long min, long max, int scale, Distribution distribution) {
+        this.min = min;
+        this.max = max;
+        this.scale = scale;
+        
+        long span = max - min;
+        boolean sampled = !distribution.isUniform() && span >= 0 && span < Long.MAX_VALUE;
+        this.sampler = sampled ? distribution.sampler(span + 1) : null;
+    }
+    
+    /**
+     * Resolve the spec of a column.
+     * 
+     * @param constraints The column constraints
+     * @param scale Digits after the decimal point
+     * @param defaultMin Lower bound if minValue is not set
+     * @param defaultMax Upper bound if maxValue is not set
+     * @param lowest Smallest value the column type can hold
+     * @param highest Largest value the column type can hold
+     * @return The spec
+     */
+    static NumericSpec resolve(Map<String, Object> constraints, int scale, BigDecimal defaultMin,
+                               BigDecimal defaultMax, BigDecimal lowest, BigDecimal highest) {
+        BigDecimal min = clamp(parse(constraints.get("minValue"), defaultMin), lowest, highest);
+        BigDecimal max = clamp(parse(constraints.get("maxValue"), defaultMax), lowest, highest);
+        
+        long unscaledMin = min.setScale(scale, RoundingMode.CEILING).unscaledValue().longValueExact();
+        long unscaledMax = max.setScale(scale, RoundingMode.FLOOR).unscaledValue().longValueExact();
+        
+        // Ensure valid range
+        return new NumericSpec(unscaledMin, Math.max(unscaledMin, unscaledMax), scale,
+                Distribution.fromConstraints(constraints));
+    }
+    
+    /**
+     * Largest value that keeps a decimal of the given scale within
+     * {@link FixedPoint#MAX_PRECISION} digits.
+     */
+    static BigDecimal decimalLimit(int scale) {
+        return BigDecimal.valueOf(FixedPoint.powerOfTen(FixedPoint.MAX_PRECISION) - 1, scale);
+    }
+    
+    /**
+     * Generate one unscaled value.
+     * 
+     * @param random The random stream
+     * @return A value in [min, max]
+     */
+    long next(SplittableRandom random) {
+        if (sampler != null) {
+            return min + sampler.next(random);
+        }
+        
+        long span = max - min;
+        if (span >= 0 && span < Long.MAX_VALUE) {
+            return min + random.nextLong(span + 1);
+        }
+        
+        // Range wider than Long.MAX_VALUE: reject draws outside it, at most half of them
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value < min || value > max);
+        return value;
+    }
+    
+    /**
+     * Generate unscaled values for a block of rows.
+     * 
+     * @param random The random stream
+     * @param values Target array
+     * @param count Number of values
+     */
+    void fill(SplittableRandom random, long[] values, int count) {
+        long span = max - min;
+        if (sampler == null && span >= 0 && span < Long.MAX_VALUE) {
+            long bound = span + 1;
+            for (int i = 0; i < count; i++) {
+                values[i] = min + random.nextLong(bound);
+            }
+            return;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            values[i] = next(random);
+        }
+    }
+    
+    /**
+     * Parse a bound given as a number or a numeric string.
+     * 
+     * @return The bound, or the default if it is missing or invalid
+     */
+    static BigDecimal parse(Object value, BigDecimal defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            return Double.isNaN(number) || Double.isInfinite(number) ? defaultValue : BigDecimal.valueOf(number);
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private static BigDecimal clamp(BigDecimal value, BigDecimal lowest, BigDecimal highest) {
+        return value.max(lowest).min(highest);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.tdg.service.output;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Configurable output settings shared by all row writers.
+ */
+@Component
+public class OutputOptions {
+    
+    @Value("${tdg.output.csv.delimiter:,}")
+    private String csvDelimiter;
+    
+    @Value("${tdg.output.csv.quote:\"}")
+    private String csvQuote;
+    
+    // LF or CRLF
+    @Value("${tdg.output.csv.line-ending:LF}")
+    private String csvLineEnding;
+    
+    // Rows per Arrow record batch
+    @Value("${tdg.output.arrow.batch-size:8192}")
+    private int arrowBatchSize;
+    
+    // UNCOMPRESSED, SNAPPY, GZIP or ZSTD
+    @Value("${tdg.output.parquet.compression:SNAPPY}")
+    private String parquetCompression;
+    
+    /**
+     * Validate settings once at startup instead of on every writer.
+     */
+    @PostConstruct
+    public void init() {
+        requireSingleAsciiChar("tdg.output.csv.delimiter", csvDelimiter);
+        requireSingleAsciiChar("tdg.output.csv.quote", csvQuote);
+        if (csvDelimiter.equals(csvQuote)) {
+            throw new IllegalStateException("CSV delimiter and quote character must differ");
+        }
+        if (!"LF".equalsIgnoreCase(csvLineEnding) && !"CRLF".equalsIgnoreCase(csvLineEnding)) {
+            throw new IllegalStateException("tdg.output.csv.line-ending must be LF or CRLF");
+        }
+        if (arrowBatchSize < 1) {
+            throw new IllegalStateException("tdg.output.arrow.batch-size must be at least 1");
+        }
+        parquetCompression = parquetCompression.toUpperCase();
+    }
+    
+    public char getCsvDelimiter() {
+        return csvDelimiter.charAt(0);
+    }
+    
+    public char getCsvQuote() {
+        return csvQuote.charAt(0);
+    }
+    
+    /**
+     * @return The CSV line terminator, "\n" or "\r\n"
+     */
+    public String getCsvLineEnding() {
+        return "CRLF".equalsIgnoreCase(csvLineEnding) ? "\r\n" : "\n";
+    }
+    
+    public int getArrowBatchSize() {
+        return arrowBatchSize;
+    }
+    
+    /**
+     * @return Name of a Parquet compression codec
+     */
+    public String getParquetCompression() {
+        return parquetCompression;
+    }
+    
+    private void requireSingleAsciiChar(String property, String value) {
+        if (value == null || value.length() != 1 || value.charAt(0) >= 0x80
+                || value.charAt(0) == '\n' || value.charAt(0) == '\r') {
+            throw new IllegalStateException(property + " must be a single ASCII character");
+        }
+    }
+}
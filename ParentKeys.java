@@ -0,0 +1,146 @@
+package com.example.tdg.service.generator;
+
+import com.example.tdg.exception.DataGenerationException;
+
+/**
+ * Keys of a parent table in a relational batch, referenced by the foreign
+ * keys of its child tables. Only the key column is kept, never whole rows:
+ * <ul>
+ * <li>keys derived from the row index (sequences) are a key range and are
+ * recomputed on demand, with no storage at all</li>
+ * <li>other keys are captured while the parent is generated, into a
+ * {@code long[]} for numeric, date, timestamp and decimal keys or a
+ * {@code String[]} for text keys</li>
+ * </ul>
+ * Parent row {@code p} of the run is key {@code p}.
+ */
+public final class ParentKeys {
+    
+    private final ColumnPlan column;
+    private final int size;
+    private final long[] longs;
+    private final String[] strings;
+    
+    private ParentKeys(ColumnPlan column, int size, long[] longs, String[] strings) {
+        this.column = column;
+        this.size = size;
+        this.longs = longs;
+        this.strings = strings;
+    }
+    
+    /**
+     * Prepare the keys of a parent table's key column.
+     * 
+     * @param column The key column of the parent plan
+     * @param rowCount Number of parent rows
+     * @return Keys to record during parent generation
+     * @throws DataGenerationException If the column cannot serve as a key
+     */
+    public static ParentKeys forColumn(ColumnPlan column, int rowCount) throws DataGenerationException {
+        if (column.isNullable()) {
+            throw new DataGenerationException("Key column " + column.getName() + " must not be nullable");
+        }
+        if (column.getGenerator().isRowDerived(column.getConstraints())) {
+            return new ParentKeys(column, rowCount, null, null);
+        }
+        if (!column.isUnique()) {
+            throw new DataGenerationException("Key column " + column.getName()
+                    + " must be a sequence or have the unique constraint");
+        }
+        
+        switch (column.getValueType()) {
+            case STRING:
+                return new ParentKeys(column, rowCount, null, new String[rowCount]);
+            case DOUBLE:
+                throw new DataGenerationException("Key column " + column.getName() + " must not be floating-point");
+            default:
+                return new ParentKeys(column, rowCount, new long[rowCount], null);
+        }
+    }
+    
+    /**
+     * @return Output index of the key column in the parent plan
+     */
+    public int getColumn() {
+        return column.getIndex();
+    }
+    
+    /**
+     * @return Number of keys
+     */
+    public int size() {
+        return size;
+    }
+    
+    public ValueType getValueType() {
+        return column.getValueType();
+    }
+    
+    public int getScale() {
+        return column.getScale();
+    }
+    
+    /**
+     * Record the key column of a generated parent block. Chunks record
+     * disjoint row ranges, so this needs no locking.
+     * 
+     * @param firstRow Index of the block's first row
+     * @param vector The key column's vector
+     * @param count Number of rows in the block
+     */
+    public void record(long firstRow, ColumnVector vector, int count) {
+        if (longs != null) {
+            System.arraycopy(vector.getLongs(), 0, longs, (int) firstRow, count);
+        } else if (strings != null) {
+            System.arraycopy(vector.getStrings(), 0, strings, (int) firstRow, count);
+        }
+    }
+    
+    /**
+     * Write the key of a parent row into a child vector.
+     * 
+     * @param parent The parent row
+     * @param vector Child vector of this key's value type
+     * @param row Row within the vector
+     * @param scratch Context used to recompute derived keys, positioned freely
+     */
+    void copyTo(int parent, ColumnVector vector, int row, GenerationContext scratch) {
+        if (longs != null) {
+            vector.getLongs()[row] = longs[parent];
+        } else if (strings != null) {
+            vector.getStrings()[row] = strings[parent];
+        } else {
+            scratch.setRowIndex(parent);
+            if (vector.getType() == ValueType.STRING) {
+                vector.getStrings()[row] = column.getGenerator().generate(column.getConstraints(), scratch);
+            } else {
+                vector.getLongs()[row] = column.getGenerator().generateLong(column.getConstraints(), scratch);
+            }
+        }
+    }
+    
+    /**
+     * @return The key of a parent row as text
+     */
+    String toString(int parent, GenerationContext scratch) {
+        if (strings != null) {
+            return strings[parent];
+        }
+        if (longs == null) {
+            scratch.setRowIndex(parent);
+            return column.getGenerator().generate(column.getConstraints(), scratch);
+        }
+        
+        long key = longs[parent];
+        switch (column.getValueType()) {
+            case DATE:
+                return IsoDates.toString(key);
+            case TIMESTAMP:
+                return IsoDates.toTimestampString(key);
+            case DECIMAL:
+                return FixedPoint.toString(key, column.getScale());
+            default:
+                return Long.toString(key);
+        }
+    }
+}
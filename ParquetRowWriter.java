@@ -0,0 +1,295 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.ValueType;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+
+/**
+ * Streams rows as a Parquet file.
+ * Each chunk writer encodes its rows as a small standalone Parquet file holding
+ * a single row group; the writer that owns the output copies those row groups
+ * verbatim into the final file and writes the combined footer at the end.
+ */
+public class ParquetRowWriter implements RowWriter {
+    
+    private final MessageType schema;
+    private final String[] columnNames;
+    private final ValueType[] valueTypes;
+    private final CompressionCodecName compression;
+    private final OutputStream outputStream;
+    private final TypedRow row;
+    
+    // Set on the writer that owns the header and footer
+    private ParquetFileWriter fileWriter;
+    
+    // Set on chunk writers once the first row arrives
+    private ParquetWriter<TypedRow> rowGroupWriter;
+    
+    private ParquetRowWriter(MessageType schema, String[] columnNames, ValueType[] valueTypes,
+            CompressionCodecName compression, OutputStream outputStream) {
+        this.schema = schema;
+        this.columnNames = columnNames;
+        this.valueTypes = valueTypes;
+        this.compression = compression;
+        this.outputStream = outputStream;
+        this.row = new TypedRow(columnNames.length);
+    }
+    
+    /**
+     * Create a writer factory for a plan, building the Parquet schema once.
+     * 
+     * @param plan The compiled generation plan
+     * @param options Configured output settings
+     * @return A row writer factory
+     */
+    public static RowWriterFactory factory(GenerationPlan plan, OutputOptions options) {
+        String[] columnNames = plan.getColumnNames();
+        ValueType[] valueTypes = new ValueType[columnNames.length];
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        
+        for (int i = 0; i < columnNames.length; i++) {
+            valueTypes[i] = plan.getColumn(i).getValueType();
+            switch (valueTypes[i]) {
+                case LONG:
+                    builder.optional(PrimitiveTypeName.INT64).named(columnNames[i]);
+                    break;
+                case DOUBLE:
+                    builder.optional(PrimitiveTypeName.DOUBLE).named(columnNames[i]);
+                    break;
+                case DATE:
+                    builder.optional(PrimitiveTypeName.INT32)
+                            .as(LogicalTypeAnnotation.dateType()).named(columnNames[i]);
+                    break;
+                case TIMESTAMP:
+                    builder.optional(PrimitiveTypeName.INT64)
+                            .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                            .named(columnNames[i]);
+                    break;
+                case DECIMAL:
+                    int scale = plan.getColumn(i).getScale();
+                    builder.optional(PrimitiveTypeName.INT64)
+                            .as(LogicalTypeAnnotation.decimalType(scale, FixedPoint.MAX_PRECISION))
+                            .named(columnNames[i]);
+                    break;
+                default:
+                    builder.optional(PrimitiveTypeName.BINARY)
+                            .as(LogicalTypeAnnotation.stringType()).named(columnNames[i]);
+            }
+        }
+        
+        MessageType schema = builder.named("row");
+        CompressionCodecName compression = CompressionCodecName.valueOf(options.getParquetCompression());
+        
+        return (outputStream, firstRowIndex) ->
+                new ParquetRowWriter(schema, columnNames, valueTypes, compression, outputStream);
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        fileWriter = new ParquetFileWriter(new ParquetStreams.StreamOutputFile(outputStream), schema,
+                ParquetFileWriter.Mode.CREATE, ParquetWriter.DEFAULT_BLOCK_SIZE, 0);
+        fileWriter.start();
+    }
+    
+    @Override
+    public void startRow() throws IOException {
+        if (rowGroupWriter == null) {
+            rowGroupWriter = new Builder(new ParquetStreams.StreamOutputFile(outputStream), this)
+                    .withCompressionCodec(compression)
+                    .withRowGroupSize(Long.MAX_VALUE)
+                    .build();
+        }
+    }
+    
+    @Override
+    public void writeNull(int column) {
+        row.present[column] = false;
+    }
+    
+    @Override
+    public void writeString(int column, String value) {
+        row.strings[column] = value;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void writeLong(int column, long value) {
+        row.longs[column] = value;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void writeDouble(int column, double value) {
+        row.doubles[column] = value;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void writeDate(int column, long epochDay) {
+        row.longs[column] = epochDay;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void writeTimestamp(int column, long epochMillis) {
+        row.longs[column] = epochMillis;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void writeDecimal(int column, long unscaled) {
+        row.longs[column] = unscaled;
+        row.present[column] = true;
+    }
+    
+    @Override
+    public void endRow() throws IOException {
+        rowGroupWriter.write(row);
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        // A chunk is complete once its row group and footer are written
+        if (rowGroupWriter != null) {
+            rowGroupWriter.close();
+            rowGroupWriter = null;
+        }
+        outputStream.flush();
+    }
+    
+    @Override
+    public void appendChunk(ByteArrayOutputStream chunk) throws IOException {
+        if (chunk.size() > 0) {
+            fileWriter.appendFile(new ParquetStreams.ByteArrayInputFile(chunk.toByteArray()));
+        }
+    }
+    
+    @Override
+    public void writeFooter() throws IOException {
+        fileWriter.end(Collections.emptyMap());
+        outputStream.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (rowGroupWriter != null) {
+            rowGroupWriter.close();
+            rowGroupWriter = null;
+        }
+    }
+    
+    /**
+     * Values of the row being written, reused for every row of the chunk.
+     * Dates and timestamps are held in {@code longs} as epoch days and milliseconds.
+     */
+    private static final class TypedRow {
+        
+        final boolean[] present;
+        final long[] longs;
+        final double[] doubles;
+        final String[] strings;
+        
+        TypedRow(int columnCount) {
+            this.present = new boolean[columnCount];
+            this.longs = new long[columnCount];
+            this.doubles = new double[columnCount];
+            this.strings = new String[columnCount];
+        }
+    }
+    
+    private static class Builder extends ParquetWriter.Builder<TypedRow, Builder> {
+        
+        private final ParquetRowWriter owner;
+        
+        Builder(OutputFile file, ParquetRowWriter owner) {
+            super(file);
+            this.owner = owner;
+        }
+        
+        @Override
+        protected Builder self() {
+            return this;
+        }
+        
+        @Override
+        protected WriteSupport<TypedRow> getWriteSupport(Configuration conf) {
+            return new RowWriteSupport(owner.schema, owner.columnNames, owner.valueTypes);
+        }
+    }
+    
+    /**
+     * Feeds rows to Parquet's record consumer using each column's physical type.
+     */
+    private static class RowWriteSupport extends WriteSupport<TypedRow> {
+        
+        private final MessageType schema;
+        private final String[] columnNames;
+        private final ValueType[] valueTypes;
+        private RecordConsumer consumer;
+        
+        RowWriteSupport(MessageType schema, String[] columnNames, ValueType[] valueTypes) {
+            this.schema = schema;
+            this.columnNames = columnNames;
+            this.valueTypes = valueTypes;
+        }
+        
+        @Override
+        public WriteContext init(Configuration configuration) {
+            return new WriteContext(schema, Collections.emptyMap());
+        }
+        
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.consumer = recordConsumer;
+        }
+        
+        @Override
+        public void write(TypedRow row) {
+            consumer.startMessage();
+            
+            for (int i = 0; i < columnNames.length; i++) {
+                // Optional fields are simply omitted when null
+                if (!row.present[i]) {
+                    continue;
+                }
+                
+                consumer.startField(columnNames[i], i);
+                switch (valueTypes[i]) {
+                    case LONG:
+                    case TIMESTAMP:
+                    case DECIMAL:
+                        consumer.addLong(row.longs[i]);
+                        break;
+                    case DOUBLE:
+                        consumer.addDouble(row.doubles[i]);
+                        break;
+                    case DATE:
+                        consumer.addInteger((int) row.longs[i]);
+                        break;
+                    default:
+                        consumer.addBinary(Binary.fromString(row.strings[i]));
+                }
+                consumer.endField(columnNames[i], i);
+            }
+            
+            consumer.endMessage();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.tdg.service.output;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Adapters that let Parquet write to plain streams and read from byte arrays,
+ * without going through a Hadoop file system.
+ */
+final class ParquetStreams {
+    
+    private ParquetStreams() {
+    }
+    
+    /**
+     * Parquet output file backed by a non-seekable stream. Parquet only appends,
+     * so tracking the position is enough. Closing it does not close the stream.
+     */
+    static class StreamOutputFile implements OutputFile {
+        
+        private final OutputStream outputStream;
+        
+        StreamOutputFile(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+        
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position = 0;
+                
+                @Override
+                public long getPos() {
+                    return position;
+                }
+                
+                @Override
+                public void write(int b) throws IOException {
+                    outputStream.write(b);
+                    position++;
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    outputStream.write(b, off, len);
+                    position += len;
+                }
+                
+                @Override
+                public void flush() throws IOException {
+                    outputStream.flush();
+                }
+                
+                @Override
+                public void close() throws IOException {
+                    outputStream.flush();
+                }
+            };
+        }
+        
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+        
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+        
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+    
+    /**
+     * Parquet input file over an in-memory byte array.
+     */
+    static class ByteArrayInputFile implements InputFile {
+        
+        private final byte[] data;
+        
+        ByteArrayInputFile(byte[] data) {
+            this.data = data;
+        }
+        
+        @Override
+        public long getLength() {
+            return data.length;
+        }
+        
+        @Override
+        public SeekableInputStream newStream() {
+            SeekableByteArrayInputStream in = new SeekableByteArrayInputStream(data);
+            return new DelegatingSeekableInputStream(in) {
+                @Override
+                public long getPos() {
+                    return in.position();
+                }
+                
+                @Override
+                public void seek(long newPos) {
+                    in.seek((int) newPos);
+                }
+            };
+        }
+    }
+    
+    private static class SeekableByteArrayInputStream extends ByteArrayInputStream {
+        
+        SeekableByteArrayInputStream(byte[] data) {
+            super(data);
+        }
+        
+        int position() {
+            return pos;
+        }
+        
+        void seek(int newPos) {
+            pos = newPos;
+        }
+    }
+}
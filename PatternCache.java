@@ -0,0 +1,177 @@
+package com.example.tdg.service.generator;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, thread-safe cache of compiled regex patterns, shared by every
+ * generator that produces strings from a pattern.
+ * Compiling a pattern into a dk.brics {@link Automaton} dominates the cost of
+ * {@code new Generex(pattern)}; with the cache, a pattern is compiled once.
+ * Patterns within the {@link SlotProgram} subset skip the automaton entirely,
+ * the rest wrap the shared automaton in a cheap {@code Generex(Automaton, Random)}.
+ * <p>
+ * Hits, misses, evictions and size are published as the standard
+ * {@code cache.*} metrics tagged {@code cache=regex-patterns}.
+ */
+@Component
+public class PatternCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PatternCache.class);
+    
+    private static final String CACHE_NAME = "regex-patterns";
+    
+    // Generex's own rewrite of predefined classes, which dk.brics does not understand
+    private static final String[][] PREDEFINED_CHARACTER_CLASSES = {
+        {"\\\\d", "[0-9]"},
+        {"\\\\D", "[^0-9]"},
+        {"\\\\s", "[ \t\n\f\r]"},
+        {"\\\\S", "[^ \t\n\f\r]"},
+        {"\\\\w", "[a-zA-Z_0-9]"},
+        {"\\\\W", "[^a-zA-Z_0-9]"}
+    };
+    private static final Pattern QUOTED = Pattern.compile("\\\\Q(.*?)\\\\E");
+    private static final Pattern SPECIAL_CHARS = Pattern.compile("[.^$*+?(){|\\[\\\\@]");
+    
+    @Value("${tdg.generation.pattern-cache-size:256}")
+    private int maxSize;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private Map<String, CompiledPattern> patterns;
+    
+    /**
+     * Create the LRU map once the size limit is known and register metrics.
+     */
+    @PostConstruct
+    public void init() {
+        int limit = Math.max(1, maxSize);
+        patterns = new LinkedHashMap<String, CompiledPattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledPattern> eldest) {
+                if (size() > limit) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Pattern lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Pattern lookups that compiled the pattern")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, PatternCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        
+        logger.info("Regex pattern cache holds up to {} patterns", limit);
+    }
+    
+    /**
+     * Get the compiled form of a pattern, compiling it on first use.
+     * 
+     * @param pattern The regex pattern, in the syntax accepted by Generex
+     * @return The compiled pattern
+     * @throws IllegalArgumentException If the pattern is invalid
+     */
+    public CompiledPattern get(String pattern) {
+        synchronized (patterns) {
+            CompiledPattern compiled = patterns.get(pattern);
+            if (compiled != null) {
+                hits.increment();
+                return compiled;
+            }
+        }
+        
+        // Compile outside the lock; a concurrent miss on the same pattern just compiles twice
+        misses.increment();
+        CompiledPattern compiled = compile(pattern);
+        synchronized (patterns) {
+            CompiledPattern existing = patterns.putIfAbsent(pattern, compiled);
+            return existing != null ? existing : compiled;
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+    
+    /**
+     * Compile a pattern, preferring the slot program fast path.
+     */
+    static CompiledPattern compile(String pattern) {
+        SlotProgram program = SlotProgram.compile(pattern);
+        if (program != null) {
+            logger.debug("Pattern '{}' compiled to a slot program", pattern);
+            return new CompiledPattern(program);
+        }
+        return new CompiledPattern(compileAutomaton(pattern));
+    }
+    
+    /**
+     * Compile a pattern into an automaton the same way Generex does.
+     */
+    static Automaton compileAutomaton(String pattern) {
+        String regex = requote(pattern);
+        for (String[] charClass : PREDEFINED_CHARACTER_CLASSES) {
+            regex = regex.replaceAll(charClass[0], charClass[1]);
+        }
+        
+        Automaton automaton = new RegExp(regex).toAutomaton();
+        
+        // Expands singleton automata now, so later reads never mutate the shared instance
+        automaton.getInitialState();
+        return automaton;
+    }
+    
+    /**
+     * Replace \Q...\E quoted sections with escaped literals.
+     */
+    private static String requote(String regex) {
+        StringBuilder sb = new StringBuilder(regex);
+        Matcher matcher = QUOTED.matcher(sb);
+        while (matcher.find()) {
+            String literal = SPECIAL_CHARS.matcher(matcher.group(1)).replaceAll("\\\\$0");
+            sb.replace(matcher.start(), matcher.end(), literal);
+            matcher.reset(sb);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractPatternGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates NANP-style phone numbers; area code and exchange never start with 0 or 1.
+ */
+@Component
+@DataGeneratorType(
+    category = "Contact",
+    displayName = "Phone Number",
+    description = "Generates phone numbers or values matching a pattern"
+)
+public class PhoneNumberGenerator extends AbstractPatternGenerator {
+    
+    public PhoneNumberGenerator() {
+        super("phoneNumber", "[2-9]\\d{2}-[2-9]\\d{2}-\\d{4}");
+    }
+}
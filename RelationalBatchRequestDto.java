@@ -0,0 +1,147 @@
+package com.example.tdg.model.dto;
+
+import com.example.tdg.model.entity.Template;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for relational batch requests: related tables generated
+ * together so that child foreign keys reference generated parent keys.
+ */
+public class RelationalBatchRequestDto {
+    
+    @NotEmpty(message = "Tables list cannot be empty")
+    @Valid
+    private List<TableDto> tables;
+    
+    private Template.OutputFormat outputFormat;
+    
+    private Long seed;
+    
+    // Getters and setters
+    
+    public List<TableDto> getTables() {
+        return tables;
+    }
+    
+    public void setTables(List<TableDto> tables) {
+        this.tables = tables;
+    }
+    
+    public Template.OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+    
+    public void setOutputFormat(Template.OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * One table of a relational batch. A root table has a row count; a child
+     * table names its parent and the column holding the parent's key, and gets
+     * either a row count (parents drawn per row, optionally skewed by
+     * {@code fanOutDistribution}) or minChildren/maxChildren per parent.
+     */
+    public static class TableDto {
+        
+        @NotNull(message = "Template ID is required")
+        private Long templateId;
+        
+        @Min(value = 1, message = "Row count must be at least 1")
+        private Integer rowCount;
+        
+        // Column referenced by child tables
+        private String keyColumn;
+        
+        private Long parentTemplateId;
+        
+        // Column of this table filled with parent keys
+        private String foreignKeyColumn;
+        
+        @Min(value = 0, message = "Minimum children cannot be negative")
+        private Integer minChildren;
+        
+        @Min(value = 0, message = "Maximum children cannot be negative")
+        private Integer maxChildren;
+        
+        // Distribution constraints (distribution, zipfExponent, ...) over the parent rows
+        private Map<String, Object> fanOutDistribution;
+        
+        public Long getTemplateId() {
+            return templateId;
+        }
+        
+        public void setTemplateId(Long templateId) {
+            this.templateId = templateId;
+        }
+        
+        public Integer getRowCount() {
+            return rowCount;
+        }
+        
+        public void setRowCount(Integer rowCount) {
+            this.rowCount = rowCount;
+        }
+        
+        public String getKeyColumn() {
+            return keyColumn;
+        }
+        
+        public void setKeyColumn(String keyColumn) {
+            this.keyColumn = keyColumn;
+        }
+        
+        public Long getParentTemplateId() {
+            return parentTemplateId;
+        }
+        
+        public void setParentTemplateId(Long parentTemplateId) {
+            this.parentTemplateId = parentTemplateId;
+        }
+        
+        public String getForeignKeyColumn() {
+            return foreignKeyColumn;
+        }
+        
+        public void setForeignKeyColumn(String foreignKeyColumn) {
+            this.foreignKeyColumn = foreignKeyColumn;
+        }
+        
+        public Integer getMinChildren() {
+            return minChildren;
+        }
+        
+        public void setMinChildren(Integer minChildren) {
+            this.minChildren = minChildren;
+        }
+        
+        public Integer getMaxChildren() {
+            return maxChildren;
+        }
+        
+        public void setMaxChildren(Integer maxChildren) {
+            this.maxChildren = maxChildren;
+        }
+        
+        public Map<String, Object> getFanOutDistribution() {
+            return fanOutDistribution;
+        }
+        
+        public void setFanOutDistribution(Map<String, Object> fanOutDistribution) {
+            this.fanOutDistribution = fanOutDistribution;
+        }
+    }
+}
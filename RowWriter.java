@@ -0,0 +1,139 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.ValueType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental writer for generated rows.
+ * Implementations serialize each row as soon as it is produced so output
+ * size never dictates memory usage. A row is written as {@link #startRow},
+ * one typed value call per column in column order, then {@link #endRow}, so
+ * numbers and dates reach the writer as primitives rather than strings.
+ * <p>
+ * A writer may cover only a slice of the output (a chunk of rows generated in
+ * parallel), in which case only the row methods and {@link #flush} are called
+ * on it, and the writer that owns the header and footer stitches the chunks
+ * together with {@link #appendChunk}.
+ */
+public interface RowWriter extends Closeable {
+    
+    /**
+     * Write anything that precedes the first row (header line, opening tags).
+     * 
+     * @throws IOException If writing fails
+     */
+    void writeHeader() throws IOException;
+    
+    /**
+     * Begin a row.
+     * 
+     * @throws IOException If writing fails
+     */
+    void startRow() throws IOException;
+    
+    /**
+     * Write a null value.
+     * 
+     * @param column Index of the column
+     * @throws IOException If writing fails
+     */
+    void writeNull(int column) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#STRING} value.
+     * 
+     * @param column Index of the column
+     * @param value The value, never null
+     * @throws IOException If writing fails
+     */
+    void writeString(int column, String value) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#LONG} value.
+     * 
+     * @param column Index of the column
+     * @param value The value
+     * @throws IOException If writing fails
+     */
+    void writeLong(int column, long value) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#DOUBLE} value.
+     * 
+     * @param column Index of the column
+     * @param value The value
+     * @throws IOException If writing fails
+     */
+    void writeDouble(int column, double value) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#DATE} value.
+     * 
+     * @param column Index of the column
+     * @param epochDay The date as days since 1970-01-01
+     * @throws IOException If writing fails
+     */
+    void writeDate(int column, long epochDay) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#TIMESTAMP} value.
+     * 
+     * @param column Index of the column
+     * @param epochMillis The instant as milliseconds since 1970-01-01T00:00:00Z
+     * @throws IOException If writing fails
+     */
+    void writeTimestamp(int column, long epochMillis) throws IOException;
+    
+    /**
+     * Write a {@link ValueType#DECIMAL} value. The column's scale is taken from the plan.
+     * 
+     * @param column Index of the column
+     * @param unscaled The value multiplied by 10^scale
+     * @throws IOException If writing fails
+     */
+    void writeDecimal(int column, long unscaled) throws IOException;
+    
+    /**
+     * Complete the current row.
+     * 
+     * @throws IOException If writing fails
+     */
+    void endRow() throws IOException;
+    
+    /**
+     * Flush buffered output to the underlying stream without closing it.
+     * 
+     * @throws IOException If writing fails
+     */
+    void flush() throws IOException;
+    
+    /**
+     * Append the flushed output of a chunk writer created by the same factory.
+     * The chunk buffer is reset and reused for a later chunk once this returns,
+     * so implementations must not keep a reference to it.
+     * 
+     * @param chunk The chunk's serialized rows
+     * @throws IOException If writing fails
+     */
+    void appendChunk(ByteArrayOutputStream chunk) throws IOException;
+    
+    /**
+     * Write anything that follows the last row and flush buffered output.
+     * The underlying stream is not closed.
+     * 
+     * @throws IOException If writing fails
+     */
+    void writeFooter() throws IOException;
+    
+    /**
+     * Release resources held by the writer. The underlying stream is not closed.
+     * 
+     * @throws IOException If releasing fails
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
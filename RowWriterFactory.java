@@ -0,0 +1,24 @@
+package com.example.tdg.service.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Creates {@link RowWriter}s for one generation request.
+ * A factory is built once per request, so anything derived from the plan
+ * (encoded field names, element names, schemas) is computed only once and
+ * shared by the writers of every chunk.
+ */
+@FunctionalInterface
+public interface RowWriterFactory {
+    
+    /**
+     * Create a writer targeting the given stream.
+     * 
+     * @param outputStream The target stream
+     * @param firstRowIndex Index of the first row this writer will write, within the whole output
+     * @return A row writer
+     * @throws IOException If the writer cannot be created
+     */
+    RowWriter create(OutputStream outputStream, long firstRowIndex) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.exception.DataGenerationException;
+import com.example.tdg.model.entity.Template;
+import com.example.tdg.service.generator.GenerationPlan;
+
+/**
+ * Entry point for obtaining {@link RowWriterFactory} instances by output format.
+ */
+public final class RowWriters {
+    
+    private RowWriters() {
+    }
+    
+    /**
+     * Create a row writer factory for the given output format.
+     * 
+     * @param outputFormat The output format
+     * @param plan The compiled generation plan
+     * @param options Configured output settings
+     * @return A row writer factory
+     * @throws DataGenerationException If the format is not supported
+     */
+    public static RowWriterFactory factory(Template.OutputFormat outputFormat, GenerationPlan plan,
+            OutputOptions options) throws DataGenerationException {
+        switch (outputFormat) {
+            case CSV:
+                return (outputStream, firstRowIndex) -> new CsvRowWriter(plan, outputStream, options);
+            case JSON:
+                return (outputStream, firstRowIndex) -> new JsonRowWriter(plan, outputStream, firstRowIndex, false);
+            case JSONL:
+                return (outputStream, firstRowIndex) -> new JsonRowWriter(plan, outputStream, firstRowIndex, true);
+            case XML:
+                return XmlRowWriter.factory(plan);
+            case PARQUET:
+                return ParquetRowWriter.factory(plan, options);
+            case ARROW:
+                return ArrowRowWriter.factory(plan, options);
+            default:
+                throw new DataGenerationException("Unsupported output format: " + outputFormat);
+        }
+    }
+}
@@ -15,6 +15,7 @@ export interface Schedule {
   cronExpression?: string;
   rowCount: number;
   outputFormat: OutputFormat;
+  seed?: number;
   createdAt?: string;
   updatedAt?: string;
   createdBy?: string;
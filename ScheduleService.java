@@ -112,6 +112,7 @@ public class ScheduleService {
         existingSchedule.setDescription(scheduleDto.getDescription());
         existingSchedule.setRowCount(scheduleDto.getRowCount());
         existingSchedule.setOutputFormat(scheduleDto.getOutputFormat());
+        existingSchedule.setSeed(scheduleDto.getSeed());
         existingSchedule.setStatus(scheduleDto.getStatus() != null ? scheduleDto.getStatus() : existingSchedule.getStatus());
         existingSchedule.setUpdatedAt(LocalDateTime.now());
         
@@ -274,6 +275,7 @@ public class ScheduleService {
         dto.setDescription(schedule.getDescription());
         dto.setRowCount(schedule.getRowCount());
         dto.setOutputFormat(schedule.getOutputFormat());
+        dto.setSeed(schedule.getSeed());
         dto.setNextRunTime(schedule.getNextRunTime());
         dto.setCronExpression(schedule.getCronExpression());
         dto.setStatus(schedule.getStatus());
@@ -306,6 +308,7 @@ public class ScheduleService {
         schedule.setDescription(dto.getDescription());
         schedule.setRowCount(dto.getRowCount());
         schedule.setOutputFormat(dto.getOutputFormat());
+        schedule.setSeed(dto.getSeed());
         schedule.setNextRunTime(dto.getNextRunTime());
         schedule.setCronExpression(dto.getCronExpression());
         schedule.setStatus(dto.getStatus() != null ? dto.getStatus() : GenerationSchedule.Status.CREATED);
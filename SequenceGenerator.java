@@ -0,0 +1,211 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.ValueType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Generates increasing keys such as 1, 2, 3 or "CUST-000042". The value of a
+ * row is {@code start + rowIndex * step}, computed from the row's position in
+ * the output rather than from a shared counter, so parallel chunks need no
+ * coordination and always produce gap-free, non-overlapping ranges. Every
+ * generation run numbers its rows from zero, so each template of a batch gets
+ * its own sequence.
+ * <p>
+ * Without a prefix or padding the column is a native LONG.
+ */
+@Component
+@DataGeneratorType(
+    category = "Identifier",
+    displayName = "Sequence",
+    description = "Generates increasing numbers from a start value, with optional prefix and zero padding"
+)
+public class SequenceGenerator extends AbstractDataGenerator {
+    
+    private static final String SPEC_KEY = "sequence.spec";
+    
+    // Zero padding beyond the 19 digits of a long only wastes space
+    private static final int MAX_PADDING = 19;
+    
+    public SequenceGenerator() {
+        super("sequence");
+    }
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(SPEC_KEY, SequenceSpec.resolve(constraints));
+        return prepared;
+    }
+    
+    @Override
+    public boolean isRowDerived(Map<String, Object> constraints) {
+        return true;
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        return spec(constraints).isText() ? ValueType.STRING : ValueType.LONG;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        SequenceSpec spec = spec(constraints);
+        return spec.format(spec.valueAt(context.getRowIndex()));
+    }
+    
+    @Override
+    public long generateLong(Map<String, Object> constraints, GenerationContext context) {
+        return spec(constraints).valueAt(context.getRowIndex());
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        SequenceSpec spec = spec(constraints);
+        long value = spec.valueAt(context.getRowIndex());
+        
+        if (vector.getType() == ValueType.LONG) {
+            long[] values = vector.getLongs();
+            for (int i = 0; i < count; i++) {
+                values[i] = value;
+                value += spec.step;
+            }
+            return;
+        }
+        
+        String[] values = vector.getStrings();
+        for (int i = 0; i < count; i++) {
+            values[i] = spec.format(value);
+            value += spec.step;
+        }
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("start", "number");
+        metadata.put("step", "number");
+        metadata.put("padding", "number");
+        metadata.put("prefix", "string");
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        for (String key : new String[] {"start", "step"}) {
+            Object value = constraints.get(key);
+            if (value != null && parseLong(value) == null) {
+                return Optional.of(key + " must be a whole number");
+            }
+        }
+        
+        Long step = parseLong(constraints.get("step"));
+        if (step != null && step == 0) {
+            return Optional.of("step cannot be zero");
+        }
+        
+        Object padding = constraints.get("padding");
+        if (padding != null && (!(padding instanceof Integer)
+                || (Integer) padding < 0 || (Integer) padding > MAX_PADDING)) {
+            return Optional.of("padding must be between 0 and " + MAX_PADDING);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Get the spec stored by {@link #prepareConstraints}, resolving it on the
+     * spot for callers that pass unprepared constraints.
+     */
+    private SequenceSpec spec(Map<String, Object> constraints) {
+        Object spec = constraints.get(SPEC_KEY);
+        if (spec instanceof SequenceSpec) {
+            return (SequenceSpec) spec;
+        }
+        return SequenceSpec.resolve(constraints);
+    }
+    
+    /**
+     * Parse a whole number given as a number or a string; negative values
+     * arrive as strings from the plan compiler.
+     * 
+     * @return The number, or null if it is not a whole number
+     */
+    private static Long parseLong(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Start, step and formatting of a sequence, resolved once per column plan.
+     */
+    private static final class SequenceSpec {
+        
+        final long start;
+        final long step;
+        final int padding;
+        final String prefix;
+        
+        private SequenceSpec(long start, long step, int padding, String prefix) {
+            this.start = start;
+            this.step = step;
+            this.padding = padding;
+            this.prefix = prefix;
+        }
+        
+        static SequenceSpec resolve(Map<String, Object> constraints) {
+            Long start = parseLong(constraints.get("start"));
+            Long step = parseLong(constraints.get("step"));
+            Object padding = constraints.get("padding");
+            Object prefix = constraints.get("prefix");
+            
+            return new SequenceSpec(
+                    start != null ? start : 1,
+                    step != null && step != 0 ? step : 1,
+                    padding instanceof Integer ? Math.max(0, Math.min(MAX_PADDING, (Integer) padding)) : 0,
+                    prefix != null ? prefix.toString() : "");
+        }
+        
+        boolean isText() {
+            return padding > 0 || !prefix.isEmpty();
+        }
+        
+        long valueAt(long rowIndex) {
+            return start + rowIndex * step;
+        }
+        
+        String format(long value) {
+            if (!isText()) {
+                return Long.toString(value);
+            }
+            
+            String digits = Long.toString(value);
+            StringBuilder builder = new StringBuilder(prefix.length() + padding + 1).append(prefix);
+            if (value < 0) {
+                builder.append('-');
+                digits = digits.substring(1);
+            }
+            for (int i = digits.length(); i < padding; i++) {
+                builder.append('0');
+            }
+            return builder.append(digits).toString();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.tdg.service.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A regex pattern compiled into a flat sequence of slots that fills a
+ * {@code char[]} directly, without walking an automaton.
+ * <p>
+ * A slot is either a literal run or a character class with a fixed or ranged
+ * repetition count. Only patterns made of literals, escaped punctuation,
+ * {@code \d}, {@code \w}, {@code \s}, non-negated bracket classes and the
+ * {@code {n}}, {@code {n,m}} and {@code ?} quantifiers are supported, which
+ * covers the identifier-like patterns (SSN, phone, account numbers) that
+ * templates typically use. {@link #compile} returns null for anything else
+ * so the caller can fall back to Generex.
+ */
+public final class SlotProgram {
+    
+    // Upper bound on a single repetition, so a program's buffer stays small
+    private static final int MAX_REPEAT = 1000;
+    
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] WORD_CHARS =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_0123456789".toCharArray();
+    private static final char[] SPACE_CHARS = " \t\n\f\r".toCharArray();
+    
+    // Characters with a special meaning in Generex / dk.brics syntax
+    private static final String UNSUPPORTED_CHARS = "()|*+.^$&~\"@<>#{}?]";
+    
+    // Per slot: literal run (null for class slots), class alphabet and repetition bounds
+    private final char[][] literals;
+    private final char[][] alphabets;
+    private final int[] minRepeats;
+    private final int[] maxRepeats;
+    private final int maxLength;
+    
+    private SlotProgram(List<char[]> literals, List<char[]> alphabets, List<int[]> repeats) {
+        int slots = literals.size();
+        this.literals = literals.toArray(new char[slots][]);
+        this.alphabets = alphabets.toArray(new char[slots][]);
+        this.minRepeats = new int[slots];
+        this.maxRepeats = new int[slots];
+        
+        int length = 0;
+        for (int i = 0; i < slots; i++) {
+            if (this.literals[i] != null) {
+                length += this.literals[i].length;
+            } else {
+                minRepeats[i] = repeats.get(i)[0];
+                maxRepeats[i] = repeats.get(i)[1];
+                length += maxRepeats[i];
+            }
+        }
+        this.maxLength = length;
+    }
+    
+    /**
+     * Compile a pattern if it falls within the supported subset.
+     * 
+     * @param pattern The regex pattern
+     * @return The compiled program, or null if the pattern needs the full regex engine
+     */
+    public static SlotProgram compile(String pattern) {
+        List<char[]> literals = new ArrayList<>();
+        List<char[]> alphabets = new ArrayList<>();
+        List<int[]> repeats = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        
+        int i = 0;
+        int length = pattern.length();
+        while (i < length) {
+            char c = pattern.charAt(i);
+            char[] alphabet = null;
+            char single = 0;
+            
+            // Atom
+            if (c == '\\') {
+                if (i + 1 >= length) {
+                    return null;
+                }
+                char escaped = pattern.charAt(i + 1);
+                alphabet = escapeClass(escaped);
+                if (alphabet == null) {
+                    if (Character.isLetterOrDigit(escaped)) {
+                        return null;
+                    }
+                    single = escaped;
+                }
+                i += 2;
+            } else if (c == '[') {
+                int end = findClassEnd(pattern, i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                alphabet = parseClass(pattern, i + 1, end);
+                if (alphabet == null) {
+                    return null;
+                }
+                i = end + 1;
+            } else if (UNSUPPORTED_CHARS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                single = c;
+                i++;
+            }
+            
+            // Quantifier
+            int min = 1;
+            int max = 1;
+            if (i < length) {
+                char q = pattern.charAt(i);
+                if (q == '{') {
+                    int close = pattern.indexOf('}', i);
+                    if (close < 0) {
+                        return null;
+                    }
+                    int[] bounds = parseBounds(pattern.substring(i + 1, close));
+                    if (bounds == null) {
+                        return null;
+                    }
+                    min = bounds[0];
+                    max = bounds[1];
+                    i = close + 1;
+                } else if (q == '?') {
+                    min = 0;
+                    i++;
+                } else if (q == '*' || q == '+') {
+                    return null;
+                }
+            }
+            
+            if (alphabet == null && min == 1 && max == 1) {
+                literal.append(single);
+                continue;
+            }
+            
+            if (literal.length() > 0) {
+                addLiteral(literals, alphabets, repeats, literal);
+            }
+            literals.add(null);
+            alphabets.add(alphabet != null ? alphabet : new char[] {single});
+            repeats.add(new int[] {min, max});
+        }
+        
+        if (literal.length() > 0) {
+            addLiteral(literals, alphabets, repeats, literal);
+        }
+        return new SlotProgram(literals, alphabets, repeats);
+    }
+    
+    /**
+     * @return Length of the longest string this program can produce
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+    
+    /**
+     * Generate one string into a buffer.
+     * 
+     * @param random The random stream
+     * @param buffer Target buffer with room for {@link #getMaxLength()} chars
+     * @return Number of chars written
+     */
+    public int fill(SplittableRandom random, char[] buffer) {
+        int p = 0;
+        for (int slot = 0; slot < literals.length; slot++) {
+            char[] literal = literals[slot];
+            if (literal != null) {
+                System.arraycopy(literal, 0, buffer, p, literal.length);
+                p += literal.length;
+                continue;
+            }
+            
+            int min = minRepeats[slot];
+            int count = maxRepeats[slot] > min ? min + random.nextInt(maxRepeats[slot] - min + 1) : min;
+            char[] alphabet = alphabets[slot];
+            if (alphabet.length == 1) {
+                for (int k = 0; k < count; k++) {
+                    buffer[p++] = alphabet[0];
+                }
+            } else {
+                for (int k = 0; k < count; k++) {
+                    buffer[p++] = alphabet[random.nextInt(alphabet.length)];
+                }
+            }
+        }
+        return p;
+    }
+    
+    private static void addLiteral(List<char[]> literals, List<char[]> alphabets, List<int[]> repeats,
+            StringBuilder literal) {
+        char[] chars = new char[literal.length()];
+        literal.getChars(0, chars.length, chars, 0);
+        literals.add(chars);
+        alphabets.add(null);
+        repeats.add(null);
+        literal.setLength(0);
+    }
+    
+    private static char[] escapeClass(char escaped) {
+        switch (escaped) {
+            case 'd':
+                return DIGITS;
+            case 'w':
+                return WORD_CHARS;
+            case 's':
+                return SPACE_CHARS;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Find the closing bracket of a class, skipping escaped characters.
+     */
+    private static int findClassEnd(String pattern, int from) {
+        for (int i = from; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ']') {
+                return i;
+            } else if (c == '[') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Expand the body of a bracket class into its distinct characters.
+     * Returns null for negated, empty or malformed classes.
+     */
+    private static char[] parseClass(String pattern, int start, int end) {
+        if (start >= end || pattern.charAt(start) == '^') {
+            return null;
+        }
+        
+        StringBuilder chars = new StringBuilder();
+        int i = start;
+        while (i < end) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= end) {
+                    return null;
+                }
+                char escaped = pattern.charAt(i + 1);
+                char[] escapedClass = escapeClass(escaped);
+                if (escapedClass != null) {
+                    addDistinct(chars, escapedClass);
+                    i += 2;
+                    continue;
+                }
+                if (Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                // Treat the escaped character like a plain one from here on
+                c = escaped;
+                i++;
+            }
+            
+            // Range
+            if (i + 2 < end && pattern.charAt(i + 1) == '-' && pattern.charAt(i + 2) != '\\') {
+                char to = pattern.charAt(i + 2);
+                if (to < c) {
+                    return null;
+                }
+                for (char r = c; r <= to; r++) {
+                    addDistinct(chars, r);
+                }
+                i += 3;
+            } else {
+                addDistinct(chars, c);
+                i++;
+            }
+        }
+        
+        char[] alphabet = new char[chars.length()];
+        chars.getChars(0, alphabet.length, alphabet, 0);
+        return alphabet;
+    }
+    
+    private static void addDistinct(StringBuilder chars, char[] values) {
+        for (char value : values) {
+            addDistinct(chars, value);
+        }
+    }
+    
+    private static void addDistinct(StringBuilder chars, char value) {
+        if (chars.indexOf(String.valueOf(value)) < 0) {
+            chars.append(value);
+        }
+    }
+    
+    /**
+     * Parse "n" or "n,m" repetition bounds.
+     */
+    private static int[] parseBounds(String body) {
+        int comma = body.indexOf(',');
+        String minText = comma < 0 ? body : body.substring(0, comma);
+        String maxText = comma < 0 ? body : body.substring(comma + 1);
+        if (!isSmallNumber(minText) || !isSmallNumber(maxText)) {
+            return null;
+        }
+        
+        int min = Integer.parseInt(minText);
+        int max = Integer.parseInt(maxText);
+        if (max < min || max > MAX_REPEAT) {
+            return null;
+        }
+        return new int[] {min, max};
+    }
+    
+    private static boolean isSmallNumber(String text) {
+        if (text.isEmpty() || text.length() > 4) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractPatternGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates social security numbers in the ddd-dd-dddd layout, avoiding the unassigned 9xx and 0xx areas.
+ */
+@Component
+@DataGeneratorType(
+    category = "Personal",
+    displayName = "SSN",
+    description = "Generates social security numbers or values matching a pattern"
+)
+public class SsnGenerator extends AbstractPatternGenerator {
+    
+    public SsnGenerator() {
+        super("ssn", "[1-8]\\d{2}-\\d{2}-\\d{4}");
+    }
+}
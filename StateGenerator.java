@@ -0,0 +1,78 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDictionaryGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.ValueDictionary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates US state names or postal abbreviations, weighted by population.
+ * Names and abbreviations share one weighted index, so both forms follow the
+ * same distribution.
+ */
+@Component
+@DataGeneratorType(
+    category = "Address",
+    displayName = "State",
+    description = "Generates US states weighted by population"
+)
+public class StateGenerator extends AbstractDictionaryGenerator {
+    
+    // State, postal abbreviation and 2020 census population in thousands
+    private static final String[][] STATES = {
+        {"Alabama", "AL", "5024"}, {"Alaska", "AK", "733"}, {"Arizona", "AZ", "7152"},
+        {"Arkansas", "AR", "3011"}, {"California", "CA", "39538"}, {"Colorado", "CO", "5774"},
+        {"Connecticut", "CT", "3606"}, {"Delaware", "DE", "990"}, {"Florida", "FL", "21538"},
+        {"Georgia", "GA", "10712"}, {"Hawaii", "HI", "1455"}, {"Idaho", "ID", "1839"},
+        {"Illinois", "IL", "12812"}, {"Indiana", "IN", "6786"}, {"Iowa", "IA", "3190"},
+        {"Kansas", "KS", "2938"}, {"Kentucky", "KY", "4506"}, {"Louisiana", "LA", "4658"},
+        {"Maine", "ME", "1362"}, {"Maryland", "MD", "6177"}, {"Massachusetts", "MA", "7030"},
+        {"Michigan", "MI", "10077"}, {"Minnesota", "MN", "5706"}, {"Mississippi", "MS", "2961"},
+        {"Missouri", "MO", "6155"}, {"Montana", "MT", "1084"}, {"Nebraska", "NE", "1962"},
+        {"Nevada", "NV", "3105"}, {"New Hampshire", "NH", "1377"}, {"New Jersey", "NJ", "9289"},
+        {"New Mexico", "NM", "2118"}, {"New York", "NY", "20201"}, {"North Carolina", "NC", "10439"},
+        {"North Dakota", "ND", "779"}, {"Ohio", "OH", "11799"}, {"Oklahoma", "OK", "3959"},
+        {"Oregon", "OR", "4237"}, {"Pennsylvania", "PA", "13003"}, {"Rhode Island", "RI", "1097"},
+        {"South Carolina", "SC", "5118"}, {"South Dakota", "SD", "887"}, {"Tennessee", "TN", "6911"},
+        {"Texas", "TX", "29146"}, {"Utah", "UT", "3272"}, {"Vermont", "VT", "643"},
+        {"Virginia", "VA", "8631"}, {"Washington", "WA", "7705"}, {"West Virginia", "WV", "1794"},
+        {"Wisconsin", "WI", "5894"}, {"Wyoming", "WY", "577"}
+    };
+    
+    private final String[] abbreviations = new String[STATES.length];
+    
+    public StateGenerator() {
+        super("state");
+    }
+    
+    @Override
+    protected ValueDictionary loadDictionary() {
+        String[] names = new String[STATES.length];
+        double[] weights = new double[STATES.length];
+        for (int i = 0; i < STATES.length; i++) {
+            names[i] = STATES[i][0];
+            abbreviations[i] = STATES[i][1];
+            weights[i] = Double.parseDouble(STATES[i][2]);
+        }
+        return ValueDictionary.weighted(names, weights);
+    }
+    
+    @Override
+    protected String render(Map<String, Object> constraints, int index, SplittableRandom random) {
+        return isAbbreviated(constraints) ? abbreviations[index] : getDictionary().get(index);
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = super.getConstraintsMetadata();
+        metadata.put("abbreviated", "boolean");
+        return metadata;
+    }
+    
+    private boolean isAbbreviated(Map<String, Object> constraints) {
+        return getConstraint(constraints, "abbreviated", false);
+    }
+}
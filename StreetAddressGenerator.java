@@ -0,0 +1,45 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDictionaryGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.FakerCorpus;
+import com.example.tdg.service.generator.ValueDictionary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates street addresses such as "1234 Miller Avenue" from the Java Faker
+ * last name and street suffix lists, loaded once at startup.
+ */
+@Component
+@DataGeneratorType(
+    category = "Address",
+    displayName = "Street Address",
+    description = "Generates street addresses with house number, street name and suffix"
+)
+public class StreetAddressGenerator extends AbstractDictionaryGenerator {
+    
+    private String[] suffixes;
+    
+    public StreetAddressGenerator() {
+        super("streetAddress");
+    }
+    
+    @Override
+    protected ValueDictionary loadDictionary() {
+        suffixes = FakerCorpus.load("address.street_suffix");
+        return ValueDictionary.uniform(FakerCorpus.load("name.last_name"));
+    }
+    
+    @Override
+    protected String render(Map<String, Object> constraints, int index, SplittableRandom random) {
+        String street = getDictionary().get(index);
+        String suffix = suffixes[random.nextInt(suffixes.length)];
+        
+        StringBuilder sb = new StringBuilder(street.length() + suffix.length() + 6);
+        sb.append(random.nextInt(1, 10000)).append(' ').append(street).append(' ').append(suffix);
+        return sb.toString();
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.tdg.service.generator.types;
 
 import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
 import com.example.tdg.service.generator.DataGeneratorType;
-import com.mifmif.common.regex.Generex;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.PatternCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Generates random strings based on length constraints or regex patterns.
@@ -23,51 +26,54 @@ public class StringGenerator extends AbstractDataGenerator {
     
     private static final String ALPHA = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
     private static final String ALPHANUMERIC = ALPHA + "0123456789";
-    private final Random random = new Random();
+    
+    @Autowired
+    private PatternCache patternCache;
     
     public StringGenerator() {
         super("string");
     }
     
     @Override
-    public String generate(Map<String, Object> constraints) {
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        SplittableRandom random = context.getRandom();
+        
         // Check if pattern is provided
         String pattern = getConstraint(constraints, "pattern", "");
         if (pattern != null && !pattern.isEmpty()) {
             try {
-                Generex generex = new Generex(pattern);
-                return generex.random();
+                return patternCache.get(pattern).generate(random);
             } catch (Exception e) {
                 // Fall back to length-based generation if pattern is invalid
             }
         }
         
-        // Length-based generation
-        int minLength = getConstraint(constraints, "minLength", 5);
-        int maxLength = getConstraint(constraints, "maxLength", 10);
-        
-        // Ensure valid range
-        if (minLength < 0) minLength = 0;
-        if (maxLength < minLength) maxLength = minLength;
-        
-        // Determine character set
-        boolean alphaOnly = getConstraint(constraints, "alphaOnly", false);
-        String charSet = alphaOnly ? ALPHA : ALPHANUMERIC;
+        LengthRange range = new LengthRange(constraints);
+        return range.next(random, new char[range.maxLength]);
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        SplittableRandom random = context.getRandom();
+        String[] values = vector.getStrings();
         
-        // Generate random length between min and max
-        int length = minLength;
-        if (maxLength > minLength) {
-            length = minLength + random.nextInt(maxLength - minLength + 1);
+        // Compiled once and shared; simple patterns skip the automaton entirely
+        String pattern = getConstraint(constraints, "pattern", "");
+        if (pattern != null && !pattern.isEmpty()) {
+            try {
+                patternCache.get(pattern).generate(random, values, count);
+                return;
+            } catch (Exception e) {
+                // Fall back to length-based generation if pattern is invalid
+            }
         }
         
-        // Generate random string
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int index = random.nextInt(charSet.length());
-            sb.append(charSet.charAt(index));
+        LengthRange range = new LengthRange(constraints);
+        char[] chars = new char[range.maxLength];
+        for (int i = 0; i < count; i++) {
+            values[i] = range.next(random, chars);
         }
-        
-        return sb.toString();
     }
     
     @Override
@@ -86,7 +92,7 @@ public class StringGenerator extends AbstractDataGenerator {
         String pattern = getConstraint(constraints, "pattern", "");
         if (pattern != null && !pattern.isEmpty()) {
             try {
-                new Generex(pattern);
+                patternCache.get(pattern);
             } catch (Exception e) {
                 return Optional.of("Invalid regex pattern: " + e.getMessage());
             }
@@ -106,4 +112,46 @@ public class StringGenerator extends AbstractDataGenerator {
         
         return Optional.empty();
     }
+    
+    /**
+     * Length-based generation settings resolved from the constraints.
+     */
+    private final class LengthRange {
+        
+        final int minLength;
+        final int maxLength;
+        final String charSet;
+        
+        LengthRange(Map<String, Object> constraints) {
+            int min = getConstraint(constraints, "minLength", 5);
+            int max = getConstraint(constraints, "maxLength", 10);
+            
+            // Ensure valid range
+            if (min < 0) min = 0;
+            if (max < min) max = min;
+            
+            this.minLength = min;
+            this.maxLength = max;
+            
+            // Determine character set
+            boolean alphaOnly = getConstraint(constraints, "alphaOnly", false);
+            this.charSet = alphaOnly ? ALPHA : ALPHANUMERIC;
+        }
+        
+        /**
+         * Generate one string, using the scratch buffer to avoid a StringBuilder.
+         */
+        String next(SplittableRandom random, char[] chars) {
+            // Generate random length between min and max
+            int length = minLength;
+            if (maxLength > minLength) {
+                length = minLength + random.nextInt(maxLength - minLength + 1);
+            }
+            
+            for (int i = 0; i < length; i++) {
+                chars[i] = charSet.charAt(random.nextInt(charSet.length()));
+            }
+            return new String(chars, 0, length);
+        }
+    }
 }
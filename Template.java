@@ -43,7 +43,7 @@ public class Template {
     private String createdBy = "system";
     
     public enum OutputFormat {
-        CSV, JSON, XML
+        CSV, JSON, JSONL, XML, PARQUET, ARROW
     }
     
     // Getters and setters
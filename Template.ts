@@ -21,7 +21,10 @@ export interface Template {
 export enum OutputFormat {
   CSV = 'CSV',
   JSON = 'JSON',
-  XML = 'XML'
+  JSONL = 'JSONL',
+  XML = 'XML',
+  PARQUET = 'PARQUET',
+  ARROW = 'ARROW'
 }
 
 /**
@@ -0,0 +1,167 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractDataGenerator;
+import com.example.tdg.service.generator.ColumnVector;
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.GenerationContext;
+import com.example.tdg.service.generator.IsoDates;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Generates times of day within a range, with second precision.
+ * Values are drawn as seconds of the day and written as HH:mm:ss into a char
+ * buffer unless a custom format is configured.
+ */
+@Component
+@DataGeneratorType(
+    category = "DateTime",
+    displayName = "Time",
+    description = "Generates random times of day within a specified range"
+)
+public class TimeGenerator extends AbstractDataGenerator {
+    
+    // Constraint key under which prepareConstraints stores the resolved range
+    private static final String SPEC_KEY = "time.spec";
+    
+    public TimeGenerator() {
+        super("time");
+    }
+    
+    @Override
+    public Map<String, Object> prepareConstraints(Map<String, Object> constraints) {
+        Map<String, Object> prepared = new HashMap<>(constraints);
+        prepared.put(SPEC_KEY, spec(constraints));
+        return prepared;
+    }
+    
+    @Override
+    public String generate(Map<String, Object> constraints, GenerationContext context) {
+        TimeSpec spec = spec(constraints);
+        return spec.format(spec.next(context.getRandom()));
+    }
+    
+    @Override
+    public void generateBlock(Map<String, Object> constraints, GenerationContext context,
+                              ColumnVector vector, int count) {
+        TimeSpec spec = spec(constraints);
+        SplittableRandom random = context.getRandom();
+        String[] values = vector.getStrings();
+        
+        if (spec.formatter == null) {
+            char[] chars = new char[IsoDates.TIME_LENGTH];
+            for (int i = 0; i < count; i++) {
+                IsoDates.formatTime(spec.next(random), chars, 0);
+                values[i] = new String(chars);
+            }
+            return;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            values[i] = spec.format(spec.next(random));
+        }
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("minTime", "string");
+        metadata.put("maxTime", "string");
+        metadata.put("format", "string");
+        return metadata;
+    }
+    
+    @Override
+    public Optional<String> validateConstraints(Map<String, Object> constraints) {
+        String format = getConstraint(constraints, "format", null);
+        if (format != null) {
+            try {
+                DateTimeFormatter.ofPattern(format);
+            } catch (IllegalArgumentException e) {
+                return Optional.of("Invalid time format: " + e.getMessage());
+            }
+        }
+        
+        for (String key : new String[] {"minTime", "maxTime"}) {
+            String value = getConstraint(constraints, key, null);
+            if (value != null && parseSecondOfDay(value) < 0) {
+                return Optional.of("Invalid " + key + ": Format should be HH:mm:ss");
+            }
+        }
+        
+        return Optional.empty();
+    }
+    
+    private TimeSpec spec(Map<String, Object> constraints) {
+        Object spec = constraints.get(SPEC_KEY);
+        if (spec instanceof TimeSpec) {
+            return (TimeSpec) spec;
+        }
+        
+        int min = parseSecondOfDay(getConstraint(constraints, "minTime", null));
+        int max = parseSecondOfDay(getConstraint(constraints, "maxTime", null));
+        min = Math.max(0, min);
+        max = max < 0 ? 86399 : Math.max(min, max);
+        
+        DateTimeFormatter formatter = null;
+        String format = getConstraint(constraints, "format", null);
+        if (format != null) {
+            try {
+                formatter = DateTimeFormatter.ofPattern(format);
+            } catch (IllegalArgumentException e) {
+                // Fall back to HH:mm:ss if custom format is invalid
+            }
+        }
+        return new TimeSpec(min, max, formatter);
+    }
+    
+    /**
+     * @return Seconds since midnight, or -1 if the value is missing or invalid
+     */
+    private static int parseSecondOfDay(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return LocalTime.parse(value).toSecondOfDay();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+    
+    /**
+     * Time range and output format of a column, resolved from its constraints.
+     */
+    private static final class TimeSpec {
+        
+        final int minSecond;
+        final int secondBound;
+        final DateTimeFormatter formatter;
+        
+        TimeSpec(int minSecond, int maxSecond, DateTimeFormatter formatter) {
+            this.minSecond = minSecond;
+            this.secondBound = maxSecond + 1;
+            this.formatter = formatter;
+        }
+        
+        int next(SplittableRandom random) {
+            return random.nextInt(minSecond, secondBound);
+        }
+        
+        String format(int secondOfDay) {
+            if (formatter != null) {
+                return LocalTime.ofSecondOfDay(secondOfDay).format(formatter);
+            }
+            char[] chars = new char[IsoDates.TIME_LENGTH];
+            IsoDates.formatTime(secondOfDay, chars, 0);
+            return new String(chars);
+        }
+    }
+}
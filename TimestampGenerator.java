@@ -0,0 +1,53 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.DataGeneratorType;
+import com.example.tdg.service.generator.IsoDates;
+import com.example.tdg.service.generator.ValueType;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Generates instants with millisecond precision.
+ * UTC timestamps without a custom format are native TIMESTAMP values, rendered
+ * as yyyy-MM-ddTHH:mm:ss.SSSZ; other zones or formats produce offset date-time text.
+ */
+@Component
+@DataGeneratorType(
+    category = "DateTime",
+    displayName = "Timestamp",
+    description = "Generates timestamps within a range, randomly or as an increasing sequence"
+)
+public class TimestampGenerator extends AbstractTimestampGenerator {
+    
+    private static final DateTimeFormatter OFFSET_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    
+    public TimestampGenerator() {
+        super("timestamp");
+    }
+    
+    @Override
+    String format(TimestampSpec spec, long epochMillis) {
+        if (spec.utc && spec.formatter == null) {
+            return IsoDates.toTimestampString(epochMillis);
+        }
+        DateTimeFormatter formatter = spec.formatter != null ? spec.formatter : OFFSET_FORMATTER;
+        return Instant.ofEpochMilli(epochMillis).atZone(spec.zone).format(formatter);
+    }
+    
+    @Override
+    public ValueType getValueType(Map<String, Object> constraints) {
+        TimestampSpec spec = TimestampSpec.resolve(constraints);
+        return spec.utc && spec.formatter == null ? ValueType.TIMESTAMP : ValueType.STRING;
+    }
+    
+    @Override
+    public Map<String, String> getConstraintsMetadata() {
+        Map<String, String> metadata = super.getConstraintsMetadata();
+        metadata.put("format", "string");
+        return metadata;
+    }
+}
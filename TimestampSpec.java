@@ -0,0 +1,262 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.exception.DataGenerationException;
+import com.example.tdg.service.generator.Distribution;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Range, zone, sequence mode and distribution of a timestamp column, resolved
+ * once per column plan. All generation works on epoch milliseconds.
+ * <p>
+ * In {@code random} mode values are drawn from [minTimestamp, maxTimestamp],
+ * either uniformly or, for the {@code bursty} distribution, mostly from a few
+ * short windows. The window positions depend only on the constraints, so every
+ * chunk sees the same bursts. Any other {@link Distribution} shape (normal,
+ * zipf, ...) is applied over the range.
+ * <p>
+ * In {@code increasing} mode the value of a row is derived from its row index:
+ * row {@code i} falls into its own {@code stepMillis} slot after minTimestamp,
+ * so values never decrease across rows or parallel chunks. The {@code bursty}
+ * distribution packs each group of {@code burstSize} rows into the first tenth
+ * of the group's time span, leaving quiet gaps between bursts, like an event log.
+ * Values stay within [minTimestamp, maxTimestamp]: a row whose slot would end
+ * past maxTimestamp fails generation, naming the number of rows the range holds.
+ */
+final class TimestampSpec {
+    
+    static final String KEY = "timestamp.spec";
+    
+    private static final long DEFAULT_MAX_MILLIS = System.currentTimeMillis() / 1000 * 1000;
+    private static final long DEFAULT_MIN_MILLIS = DEFAULT_MAX_MILLIS - 365L * 86_400_000L;
+    
+    // Share of bursty random values that fall inside a burst window
+    private static final double BURST_RATIO = 0.8;
+    
+    final long minMillis;
+    final long maxMillis;
+    final ZoneId zone;
+    final boolean utc;
+    final DateTimeFormatter formatter;
+    final boolean increasing;
+    final boolean bursty;
+    final long stepMillis;
+    final int burstSize;
+    final long burstWidthMillis;
+    final long[] burstStarts;
+    
+    // Increasing mode: number of rows whose slots fit in the range
+    final long rowLimit;
+    
+    // Random-mode sampler of offsets from minMillis; null for uniform and bursty
+    final Distribution.Sampler sampler;
+    
+    private TimestampSpec(Map<String, Object> constraints) {
+        this.zone = parseZone(string(constraints, "zone", "UTC"));
+        this.utc = zone.normalized().equals(ZoneOffset.UTC);
+        
+        Long min = parseMillis(string(constraints, "minTimestamp", null), zone);
+        Long max = parseMillis(string(constraints, "maxTimestamp", null), zone);
+        this.minMillis = min != null ? min : DEFAULT_MIN_MILLIS;
+        this.maxMillis = Math.max(minMillis, max != null ? max : DEFAULT_MAX_MILLIS);
+        
+        String format = string(constraints, "format", null);
+        this.formatter = format != null ? parseFormat(format) : null;
+        
+        this.increasing = "increasing".equalsIgnoreCase(string(constraints, "mode", "random"));
+        this.bursty = "bursty".equalsIgnoreCase(string(constraints, "distribution", "uniform"));
+        this.stepMillis = Math.max(1, number(constraints, "stepMillis", 1000));
+        this.burstSize = (int) Math.max(1, number(constraints, "burstSize", 100));
+        this.burstWidthMillis = Math.max(1, Math.min(number(constraints, "burstWidthMillis", 60_000),
+                maxMillis - minMillis + 1));
+        this.burstStarts = bursty && !increasing
+                ? placeBursts((int) Math.max(1, number(constraints, "burstCount", 10))) : null;
+        this.rowLimit = increasing ? rowLimit() : Long.MAX_VALUE;
+        
+        Distribution distribution = bursty || increasing ? null : Distribution.fromConstraints(constraints);
+        this.sampler = distribution != null && !distribution.isUniform()
+                ? distribution.sampler(maxMillis - minMillis + 1) : null;
+    }
+    
+    static TimestampSpec resolve(Map<String, Object> constraints) {
+        Object spec = constraints.get(KEY);
+        return spec instanceof TimestampSpec ? (TimestampSpec) spec : new TimestampSpec(constraints);
+    }
+    
+    /**
+     * Generate the value of one row.
+     * 
+     * @param random The random stream of the current chunk
+     * @param rowIndex Index of the row in the whole output
+     * @return Epoch milliseconds
+     */
+    long next(SplittableRandom random, long rowIndex) {
+        if (increasing) {
+            checkRows(rowIndex, 1);
+            return bursty ? nextInBurst(random, rowIndex) : nextInStep(random, rowIndex);
+        }
+        if (bursty && random.nextDouble() < BURST_RATIO) {
+            long start = burstStarts[random.nextInt(burstStarts.length)];
+            return start + random.nextLong(burstWidthMillis);
+        }
+        if (sampler != null) {
+            return minMillis + sampler.next(random);
+        }
+        return random.nextLong(minMillis, maxMillis + 1);
+    }
+    
+    /**
+     * Generate the values of consecutive rows.
+     * 
+     * @param random The random stream of the current chunk
+     * @param firstRow Index of the first row in the whole output
+     * @param values Target array
+     * @param count Number of values
+     */
+    void fill(SplittableRandom random, long firstRow, long[] values, int count) {
+        checkRows(firstRow, count);
+        if (!increasing && !bursty && sampler == null) {
+            long bound = maxMillis + 1;
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextLong(minMillis, bound);
+            }
+        } else if (increasing && !bursty) {
+            for (int i = 0; i < count; i++) {
+                values[i] = nextInStep(random, firstRow + i);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                values[i] = next(random, firstRow + i);
+            }
+        }
+    }
+    
+    /**
+     * Fail if rows in increasing mode would run past maxTimestamp.
+     * 
+     * @param firstRow Index of the first row
+     * @param count Number of rows
+     * @throws DataGenerationException If the range holds fewer rows
+     */
+    void checkRows(long firstRow, int count) {
+        if (firstRow + count > rowLimit) {
+            throw new DataGenerationException("Increasing timestamps from " + Instant.ofEpochMilli(minMillis)
+                    + " to " + Instant.ofEpochMilli(maxMillis) + " hold only " + rowLimit + " rows at stepMillis "
+                    + stepMillis + "; widen the range or lower stepMillis");
+        }
+    }
+    
+    /**
+     * Rows whose whole slot lies within [minMillis, maxMillis] in increasing mode.
+     */
+    private long rowLimit() {
+        long rangeMillis = maxMillis - minMillis + 1;
+        if (!bursty) {
+            return rangeMillis / stepMillis;
+        }
+        // Full bursts, then the rows of a partial burst whose slots still fit
+        long span = burstSize * stepMillis;
+        long slot = Math.max(1, stepMillis / 10);
+        long bursts = rangeMillis / span;
+        return bursts * burstSize + Math.min(burstSize, (rangeMillis - bursts * span) / slot);
+    }
+    
+    private long nextInStep(SplittableRandom random, long rowIndex) {
+        long jitter = stepMillis > 1 ? random.nextLong(stepMillis) : 0;
+        return minMillis + rowIndex * stepMillis + jitter;
+    }
+    
+    private long nextInBurst(SplittableRandom random, long rowIndex) {
+        long span = burstSize * stepMillis;
+        long slot = Math.max(1, stepMillis / 10);
+        long jitter = slot > 1 ? random.nextLong(slot) : 0;
+        return minMillis + (rowIndex / burstSize) * span + (rowIndex % burstSize) * slot + jitter;
+    }
+    
+    /**
+     * Choose burst window start positions, sorted, from a stream seeded by the range.
+     */
+    private long[] placeBursts(int count) {
+        SplittableRandom placement = new SplittableRandom(minMillis * 31 + maxMillis * 17 + count);
+        long lastStart = maxMillis - burstWidthMillis + 1;
+        long[] starts = new long[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = placement.nextLong(minMillis, lastStart + 1);
+        }
+        Arrays.sort(starts);
+        return starts;
+    }
+    
+    /**
+     * Parse an instant given as an ISO offset date-time, or as a local date-time
+     * or date interpreted in the zone.
+     * 
+     * @return Epoch milliseconds, or null if the text is missing or invalid
+     */
+    static Long parseMillis(String text, ZoneId zone) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Not an offset date-time
+        }
+        try {
+            return LocalDateTime.parse(text).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Not a local date-time
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    static ZoneId parseZone(String zone) {
+        try {
+            return ZoneId.of(zone);
+        } catch (RuntimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+    
+    private static DateTimeFormatter parseFormat(String format) {
+        try {
+            return DateTimeFormatter.ofPattern(format);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    static String string(Map<String, Object> constraints, String key, String defaultValue) {
+        Object value = constraints.get(key);
+        return value != null ? value.toString() : defaultValue;
+    }
+    
+    static long number(Map<String, Object> constraints, String key, long defaultValue) {
+        Object value = constraints.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.tdg.service.generator;
+
+/**
+ * Values already emitted by a {@code unique} column during one generation run.
+ * Every value is reduced to a 64-bit key: LONG, DATE, TIMESTAMP and DECIMAL
+ * values are their own key, doubles use their bit pattern and strings a 64-bit
+ * fingerprint. Keys live in open-addressing {@code long[]} tables, about 11 to
+ * 21 bytes per value instead of the ~100 of a {@code HashSet<String>}.
+ * <p>
+ * Equal strings always share a fingerprint, so a duplicate is never let
+ * through. Two different strings may collide and the second is then treated as
+ * a duplicate and regenerated; with 10 million values the chance that this
+ * happens at all is about 3 in a million.
+ * <p>
+ * The set is shared by all chunks of a run. It is split into independently
+ * locked stripes so that parallel chunks rarely wait on each other.
+ */
+public final class UniqueValueSet {
+    
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPE_CAPACITY = 1024;
+    
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+    
+    public UniqueValueSet() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    /**
+     * Record a value of a column vector.
+     * 
+     * @param vector The column vector
+     * @param row Row within the vector; must not be null
+     * @return True if the value was not seen before
+     */
+    public boolean add(ColumnVector vector, int row) {
+        return add(key(vector, row));
+    }
+    
+    /**
+     * Record a 64-bit key.
+     * 
+     * @param key The key
+     * @return True if the key was not seen before
+     */
+    public boolean add(long key) {
+        long hash = mix64(key);
+        Stripe stripe = stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+        synchronized (stripe) {
+            return stripe.add(key, hash);
+        }
+    }
+    
+    /**
+     * @return Number of distinct values recorded so far
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size + (stripe.containsZero ? 1 : 0);
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Reduce a value of a column vector to its 64-bit key.
+     */
+    static long key(ColumnVector vector, int row) {
+        switch (vector.getType()) {
+            case DOUBLE:
+                double value = vector.getDoubles()[row];
+                // 0.0 and -0.0 print the same in most formats
+                return Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+            case STRING:
+                return fingerprint(vector.getStrings()[row]);
+            default:
+                return vector.getLongs()[row];
+        }
+    }
+    
+    /**
+     * 64-bit fingerprint of a string: FNV-1a over its chars, finalized with
+     * a 64-bit mixer so that every bit depends on every char.
+     * 
+     * @param value The string
+     * @return The fingerprint
+     */
+    public static long fingerprint(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+    
+    /**
+     * Stafford variant 13 finalizer, as used by SplittableRandom.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Open-addressing hash set of longs with linear probing. Zero marks an
+     * empty slot, so the key zero is tracked by a flag. Not thread-safe.
+     */
+    private static final class Stripe {
+        
+        private long[] keys = new long[STRIPE_CAPACITY];
+        private int size;
+        private boolean containsZero;
+        
+        boolean add(long key, long hash) {
+            if (key == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            
+            // Keep the load factor at or below 3/4
+            if (++size > keys.length - (keys.length >>> 2)) {
+                grow();
+            }
+            return true;
+        }
+        
+        private void grow() {
+            long[] old = keys;
+            keys = new long[old.length * 2];
+            int mask = keys.length - 1;
+            for (long key : old) {
+                if (key != 0) {
+                    int slot = (int) mix64(key) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = key;
+                }
+            }
+        }
+    }
+}
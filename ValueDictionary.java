@@ -0,0 +1,72 @@
+package com.example.tdg.service.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * An immutable list of values for a categorical column, sampled either
+ * uniformly or by weight through an {@link AliasTable}. Both cost O(1) per
+ * value; callers that need parallel attributes (e.g. a state's name and its
+ * abbreviation) sample an index and look the attributes up themselves.
+ */
+public final class ValueDictionary {
+    
+    private final String[] values;
+    private final AliasTable weights;
+    
+    private ValueDictionary(String[] values, AliasTable weights) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Dictionary needs at least one value");
+        }
+        this.values = values;
+        this.weights = weights;
+    }
+    
+    /**
+     * @param values The values, each equally likely
+     * @return The dictionary
+     */
+    public static ValueDictionary uniform(String[] values) {
+        return new ValueDictionary(values, null);
+    }
+    
+    /**
+     * @param values The values
+     * @param weights Relative weight of each value, aligned with {@code values}
+     * @return The dictionary
+     */
+    public static ValueDictionary weighted(String[] values, double[] weights) {
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException("Dictionary has " + values.length
+                    + " values but " + weights.length + " weights");
+        }
+        return new ValueDictionary(values, new AliasTable(weights));
+    }
+    
+    public int size() {
+        return values.length;
+    }
+    
+    public String get(int index) {
+        return values[index];
+    }
+    
+    public boolean isWeighted() {
+        return weights != null;
+    }
+    
+    /**
+     * @param random The random stream
+     * @return Index of a sampled value
+     */
+    public int sampleIndex(SplittableRandom random) {
+        return weights != null ? weights.sample(random) : random.nextInt(values.length);
+    }
+    
+    /**
+     * @param random The random stream
+     * @return A sampled value
+     */
+    public String sample(SplittableRandom random) {
+        return values[sampleIndex(random)];
+    }
+}
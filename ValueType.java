@@ -0,0 +1,26 @@
+package com.example.tdg.service.generator;
+
+/**
+ * Native type of the values a generator produces for a column.
+ * Binary output formats use it to choose a typed column representation.
+ */
+public enum ValueType {
+    
+    /** Text. */
+    STRING,
+    
+    /** 64-bit signed integer. */
+    LONG,
+    
+    /** 64-bit floating point number. */
+    DOUBLE,
+    
+    /** Calendar date without time, as an ISO yyyy-MM-dd string or epoch day. */
+    DATE,
+    
+    /** Instant with millisecond precision, as an ISO UTC timestamp string or epoch milliseconds. */
+    TIMESTAMP,
+    
+    /** Fixed-point number, as a plain decimal string or an unscaled long with the column's scale. */
+    DECIMAL
+}
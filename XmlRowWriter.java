@@ -0,0 +1,247 @@
+package com.example.tdg.service.output;
+
+import com.example.tdg.service.generator.FixedPoint;
+import com.example.tdg.service.generator.GenerationPlan;
+import com.example.tdg.service.generator.IsoDates;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Streams rows as XML through a StAX {@link XMLStreamWriter}, one {@code <row>}
+ * element per row under a root element named after the template.
+ * Element names are sanitized once per request by {@link #factory(GenerationPlan)}.
+ */
+public class XmlRowWriter implements RowWriter {
+    
+    private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^a-zA-Z0-9_.-]");
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = createOutputFactory();
+    
+    private final String rootElementName;
+    private final String[] elementNames;
+    private final int[] scales;
+    private final OutputStream outputStream;
+    private final XMLStreamWriter writer;
+    private final char[] dateBuffer = new char[IsoDates.TIMESTAMP_LENGTH];
+    private final char[] numberBuffer = new char[FixedPoint.MAX_LENGTH];
+    
+    private XmlRowWriter(String rootElementName, String[] elementNames, int[] scales, OutputStream outputStream)
+            throws IOException {
+        this.rootElementName = rootElementName;
+        this.elementNames = elementNames;
+        this.scales = scales;
+        this.outputStream = outputStream;
+        try {
+            this.writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Create a writer factory for a plan, sanitizing the root and column
+     * element names once.
+     * 
+     * @param plan The compiled generation plan
+     * @return A row writer factory
+     */
+    public static RowWriterFactory factory(GenerationPlan plan) {
+        String rootElementName = sanitizeXmlName(plan.getTemplateName());
+        String[] columnNames = plan.getColumnNames();
+        String[] elementNames = new String[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            elementNames[i] = sanitizeXmlName(columnNames[i]);
+        }
+        
+        int[] scales = plan.getScales();
+        
+        return (outputStream, firstRowIndex) ->
+                new XmlRowWriter(rootElementName, elementNames, scales, outputStream);
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement(rootElementName);
+            // Forces the start tag to be closed before chunks are appended
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void startRow() throws IOException {
+        try {
+            writer.writeCharacters("  ");
+            writer.writeStartElement("row");
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void writeNull(int column) throws IOException {
+        try {
+            writer.writeCharacters("    ");
+            writer.writeEmptyElement(elementNames[column]);
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void writeString(int column, String value) throws IOException {
+        try {
+            writeStartValue(column);
+            writer.writeCharacters(value);
+            writeEndValue();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void writeLong(int column, long value) throws IOException {
+        writeString(column, Long.toString(value));
+    }
+    
+    @Override
+    public void writeDouble(int column, double value) throws IOException {
+        writeString(column, Double.toString(value));
+    }
+    
+    @Override
+    public void writeDecimal(int column, long unscaled) throws IOException {
+        try {
+            writeStartValue(column);
+            writer.writeCharacters(numberBuffer, 0, FixedPoint.format(unscaled, scales[column], numberBuffer, 0));
+            writeEndValue();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void writeDate(int column, long epochDay) throws IOException {
+        if (!IsoDates.isFixedLength(epochDay)) {
+            writeString(column, IsoDates.toString(epochDay));
+            return;
+        }
+        
+        try {
+            writeStartValue(column);
+            IsoDates.format(epochDay, dateBuffer, 0);
+            writer.writeCharacters(dateBuffer, 0, IsoDates.LENGTH);
+            writeEndValue();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void writeTimestamp(int column, long epochMillis) throws IOException {
+        if (!IsoDates.isFixedLengthMillis(epochMillis)) {
+            writeString(column, IsoDates.toTimestampString(epochMillis));
+            return;
+        }
+        
+        try {
+            writeStartValue(column);
+            IsoDates.formatTimestamp(epochMillis, dateBuffer, 0);
+            writer.writeCharacters(dateBuffer, 0, IsoDates.TIMESTAMP_LENGTH);
+            writeEndValue();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void endRow() throws IOException {
+        try {
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        try {
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void appendChunk(ByteArrayOutputStream chunk) throws IOException {
+        flush();
+        chunk.writeTo(outputStream);
+    }
+    
+    @Override
+    public void writeFooter() throws IOException {
+        try {
+            writer.writeEndElement();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+    
+    private void writeStartValue(int column) throws XMLStreamException {
+        writer.writeCharacters("    ");
+        writer.writeStartElement(elementNames[column]);
+    }
+    
+    private void writeEndValue() throws XMLStreamException {
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+    }
+    
+    /**
+     * Sanitize a string for use as an XML name.
+     * 
+     * @param name The input name
+     * @return Sanitized name
+     */
+    static String sanitizeXmlName(String name) {
+        String sanitized = INVALID_NAME_CHARS.matcher(name).replaceAll("_");
+        
+        // XML names must start with a letter or underscore
+        char first = sanitized.isEmpty() ? '-' : sanitized.charAt(0);
+        if (!(first == '_' || (first >= 'a' && first <= 'z') || (first >= 'A' && first <= 'Z'))) {
+            sanitized = "_" + sanitized;
+        }
+        
+        return sanitized;
+    }
+    
+    /**
+     * Create the shared StAX output factory. Chunk writers emit {@code <row>}
+     * fragments without a root element, so structure validation is disabled
+     * where the implementation supports it.
+     */
+    private static XMLOutputFactory createOutputFactory() {
+        XMLOutputFactory factory = XMLOutputFactory.newFactory();
+        String validateStructure = "com.ctc.wstx.outputValidateStructure";
+        if (factory.isPropertySupported(validateStructure)) {
+            factory.setProperty(validateStructure, Boolean.FALSE);
+        }
+        return factory;
+    }
+}
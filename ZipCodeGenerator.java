@@ -0,0 +1,21 @@
+package com.example.tdg.service.generator.types;
+
+import com.example.tdg.service.generator.AbstractPatternGenerator;
+import com.example.tdg.service.generator.DataGeneratorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates US ZIP codes, by default as five digits.
+ */
+@Component
+@DataGeneratorType(
+    category = "Address",
+    displayName = "ZIP Code",
+    description = "Generates five-digit ZIP codes or values matching a pattern"
+)
+public class ZipCodeGenerator extends AbstractPatternGenerator {
+    
+    public ZipCodeGenerator() {
+        super("zipCode", "\\d{5}");
+    }
+}